@@ -0,0 +1,103 @@
+package com.blog.stream.pagination.benchmark;
+
+import com.blog.stream.pagination.PaginationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the spliterators behind {@link PaginationUtils} over a synthetic result set.
+ *
+ * fullScan measures how many complete passes over the result set are made per second, timeToFirstElement how long
+ * a consumer waits before the first element arrives. Run with
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args=".*PaginationBenchmark.* -p latencyMicros=2000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PaginationBenchmark {
+
+    public enum Strategy {
+        PAGED,
+        PREFETCH,
+        PAGEABLE,
+        BALANCED
+    }
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    @Param({"1000", "100000"})
+    private long resultSize;
+
+    @Param({"PAGED", "PREFETCH", "PAGEABLE", "BALANCED"})
+    private Strategy strategy;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    @Param({"200"})
+    private long latencyMicros;
+
+    @Param({"100"})
+    private long jitterMicros;
+
+    private SyntheticPageFetcher fetcher;
+
+    @Setup
+    public void setUp() {
+        fetcher = new SyntheticPageFetcher(resultSize, latencyMicros, jitterMicros);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void fullScan(final Blackhole blackhole) {
+        stream().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Optional<Long> timeToFirstElement() {
+        Stream<Long> stream = stream();
+        return parallel ? stream.findAny() : stream.findFirst();
+    }
+
+    private Stream<Long> stream() {
+        Stream<Long> stream = create();
+        return parallel ? stream.parallel() : stream.sequential();
+    }
+
+    private Stream<Long> create() {
+        switch (strategy) {
+            case PAGED:
+                return PaginationUtils.pagedStream(fetcher, pageSize, resultSize);
+            case PREFETCH:
+                return PaginationUtils.prefetchPageStream(fetcher, pageSize);
+            case PAGEABLE:
+                return PaginationUtils.pageableStream(fetcher::fetch, PageRequest.of(0, pageSize));
+            case BALANCED:
+                return PaginationUtils.balancedPagedStream(fetcher, pageSize, resultSize);
+            default:
+                throw new IllegalStateException("Unknown strategy " + strategy);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.blog.stream.pagination.benchmark;
+
+import com.blog.stream.pagination.PageFetcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In memory result set of the numbers 0 to resultSize - 1, where every fetch takes a fixed latency plus a uniformly
+ * distributed jitter to stand in for a database round trip.
+ */
+public class SyntheticPageFetcher implements PageFetcher<Long> {
+
+    private final long resultSize;
+    private final long latencyNanos;
+    private final long jitterNanos;
+
+    public SyntheticPageFetcher(final long resultSize, final long latencyMicros, final long jitterMicros) {
+        this.resultSize = resultSize;
+        this.latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        this.jitterNanos = TimeUnit.MICROSECONDS.toNanos(jitterMicros);
+    }
+
+    @Override
+    public Page<Long> fetch(final long offset, final int pageSize) {
+        simulateLatency();
+
+        long from = Math.min(offset * pageSize, resultSize);
+        long to = Math.min(from + pageSize, resultSize);
+        List<Long> content = new ArrayList<>((int) (to - from));
+        for (long i = from; i < to; i++) {
+            content.add(i);
+        }
+
+        return new PageImpl<>(content, PageRequest.of(Math.toIntExact(offset), pageSize), resultSize);
+    }
+
+    public Page<Long> fetch(final Pageable pageable) {
+        return fetch(pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private void simulateLatency() {
+        long nanos = latencyNanos;
+        if (jitterNanos > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+        }
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.time.Duration;
+
+/**
+ * Page size which adapts during a scan so that each fetch takes roughly the target latency.
+ *
+ * The time per row is tracked as a moving average over recent fetches and the next page is sized to fill the
+ * target. Pages never grow by more than double from one fetch to the next, so a fast first page cannot jump
+ * straight to the maximum, and they always stay within the min/max bounds. The maximum doubles as the row budget,
+ * capping how many rows are ever held for a single page.
+ */
+public final class AdaptivePageSize {
+
+    private static final double SMOOTHING = 0.5;
+
+    private final long targetNanos;
+    private final int minPageSize;
+    private final int maxPageSize;
+
+    private AdaptivePageSize(final long targetNanos, final int minPageSize, final int maxPageSize) {
+        this.targetNanos = targetNanos;
+        this.minPageSize = minPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * @param target      Time each page fetch should take
+     * @param minPageSize Smallest page size to request, also the size of the first page
+     * @param maxPageSize Largest page size to request
+     * @return Adaptive page size configuration
+     */
+    public static AdaptivePageSize targetLatency(final Duration target, final int minPageSize, final int maxPageSize) {
+        if (minPageSize < 1 || maxPageSize < minPageSize) {
+            throw new IllegalArgumentException(
+                    "Page size bounds must satisfy 1 <= min <= max, was " + minPageSize + " and " + maxPageSize);
+        }
+        return new AdaptivePageSize(target.toNanos(), minPageSize, maxPageSize);
+    }
+
+    PageSizer newSizer() {
+        return new AdaptivePageSizer();
+    }
+
+    @VisibleForTesting
+    class AdaptivePageSizer implements PageSizer {
+
+        private int pageSize = minPageSize;
+        private double nanosPerRow = -1;
+
+        @Override
+        public int nextPageSize() {
+            return pageSize;
+        }
+
+        @Override
+        public void record(final int requested, final int rows, final long fetchNanos) {
+            if (rows == 0) {
+                return;
+            }
+
+            double observed = (double) fetchNanos / rows;
+            nanosPerRow = nanosPerRow < 0 ? observed : SMOOTHING * observed + (1 - SMOOTHING) * nanosPerRow;
+
+            double ideal = nanosPerRow == 0 ? maxPageSize : targetNanos / nanosPerRow;
+            double capped = Math.min(ideal, 2.0 * requested);
+            pageSize = (int) Math.max(minPageSize, Math.min(maxPageSize, capped));
+        }
+    }
+}
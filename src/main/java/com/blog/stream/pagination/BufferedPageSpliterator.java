@@ -0,0 +1,78 @@
+package com.blog.stream.pagination;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Base for spliterators which hand out the elements of one page at a time.
+ *
+ * tryAdvance yields a single element from the current page and only fetches the next page once the current one is
+ * used up, so short-circuiting operations (findFirst, anyMatch, limit) stop fetching as soon as they are satisfied.
+ * forEachRemaining is the bulk path, pushing each page straight to the consumer. A page is dropped as soon as its
+ * last element has been consumed.
+ */
+abstract class BufferedPageSpliterator<T> implements Spliterator<T> {
+
+    private Iterator<T> currentPage;
+
+    /**
+     * @return Content of the next page, or null when there are no more pages
+     */
+    abstract List<T> nextPage();
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (currentPage == null) {
+            List<T> page = nextPage();
+            if (page == null) {
+                return false;
+            }
+            if (page.isEmpty()) {
+                pageCompleted();
+            } else {
+                currentPage = page.iterator();
+            }
+        }
+
+        action.accept(currentPage.next());
+        if (!currentPage.hasNext()) {
+            currentPage = null;
+            pageCompleted();
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        if (currentPage != null) {
+            currentPage.forEachRemaining(action);
+            currentPage = null;
+            pageCompleted();
+        }
+
+        List<T> page;
+        while ((page = nextPage()) != null) {
+            page.forEach(action);
+            pageCompleted();
+        }
+    }
+
+    /**
+     * Called once every element of the page last returned by {@link #nextPage()} has been accepted by the
+     * consumer. Not called for a page whose consumer threw.
+     */
+    void pageCompleted() {
+    }
+
+    /**
+     * A page part way through being consumed precedes every page not yet fetched, so nothing can be split off
+     * ahead of it without breaking encounter order.
+     *
+     * @return true if some but not all of the current page has been consumed
+     */
+    boolean isPartwayThroughPage() {
+        return currentPage != null;
+    }
+}
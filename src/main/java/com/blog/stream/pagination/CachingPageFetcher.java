@@ -0,0 +1,19 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+
+public class CachingPageFetcher<T> implements PageFetcher<T> {
+
+    private final PageFetcher<T> delegate;
+    private final PageCache cache;
+
+    CachingPageFetcher(final PageFetcher<T> delegate, final PageCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Page<T> fetch(final long offset, final int pageSize) {
+        return cache.get(delegate, offset, pageSize);
+    }
+}
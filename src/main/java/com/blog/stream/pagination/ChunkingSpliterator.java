@@ -0,0 +1,114 @@
+package com.blog.stream.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Re-chunks a spliterator of pages into batches of a target size, carrying elements over page boundaries. Only the
+ * last batch of the stream may be smaller. Pages which already are the target size are passed through as is.
+ *
+ * The pages are only split at page offsets where a batch boundary meets a page boundary, every
+ * lcm(pageSize, batchSize) / pageSize pages, so every split ends on a whole batch and batches stay full in parallel
+ * streams too.
+ */
+public class ChunkingSpliterator<T> implements Spliterator<List<T>> {
+
+    static final int CHUNKING_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | CONCURRENT | NONNULL;
+
+    private final PageRangeSpliterator<List<T>> pages;
+    private final int batchSize;
+    private final long pagesPerBatchBoundary;
+    private List<T> page;
+    private int offset;
+    private List<T> batch;
+
+    ChunkingSpliterator(
+            final PageRangeSpliterator<List<T>> pages, final int batchSize, final long pagesPerBatchBoundary) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        }
+        this.pages = pages;
+        this.batchSize = batchSize;
+        this.pagesPerBatchBoundary = pagesPerBatchBoundary;
+    }
+
+    static <R> ChunkingSpliterator<R> create(
+            final PageRangeSpliterator<List<R>> pages, final int pageSize, final int batchSize) {
+        return new ChunkingSpliterator<>(pages, batchSize, batchSize / gcd(pageSize, batchSize));
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super List<T>> action) {
+        while (true) {
+            if (page == null || offset == page.size()) {
+                page = null;
+                offset = 0;
+
+                if (!pages.tryAdvance(next -> page = next)) {
+                    return emitBatch(action);
+                }
+                if (batch == null && page.size() == batchSize) {
+                    List<T> whole = page;
+                    page = null;
+                    action.accept(whole);
+                    return true;
+                }
+                continue;
+            }
+
+            if (batch == null) {
+                batch = new ArrayList<>(batchSize);
+            }
+            int taken = Math.min(batchSize - batch.size(), page.size() - offset);
+            batch.addAll(page.subList(offset, offset + taken));
+            offset += taken;
+
+            if (batch.size() == batchSize) {
+                return emitBatch(action);
+            }
+        }
+    }
+
+    private boolean emitBatch(final Consumer<? super List<T>> action) {
+        if (batch == null) {
+            return false;
+        }
+        List<T> full = batch;
+        batch = null;
+        action.accept(full);
+        return true;
+    }
+
+    /**
+     * Splits the underlying pages, but only where a batch ends on a page boundary so no batch is shared between
+     * splits and every split's batches are full.
+     */
+    @Override
+    public Spliterator<List<T>> trySplit() {
+        if (page != null || batch != null) {
+            return null;
+        }
+
+        PageRangeSpliterator<List<T>> split = pages.trySplit(pagesPerBatchBoundary);
+        return split == null ? null : new ChunkingSpliterator<>(split, batchSize, pagesPerBatchBoundary);
+    }
+
+    /**
+     * @return Estimated number of pages remaining, the number of batches differs when pages are re-chunked
+     */
+    @Override
+    public long estimateSize() {
+        return pages.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return pages.characteristics() & CHUNKING_SPLITERATOR_CHARACTERISTICS | NONNULL;
+    }
+
+    private static long gcd(final long a, final long b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+}
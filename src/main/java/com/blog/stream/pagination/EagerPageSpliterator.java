@@ -0,0 +1,212 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Spliterator which runs the count and the fetches of the first pages concurrently on an executor, rather than
+ * counting before the first fetch.
+ *
+ * Nothing is started until the stream's terminal operation first uses the spliterator. Consumed sequentially the
+ * first page's elements are emitted as soon as the page arrives, whether or not the count has, and the count is
+ * only waited on once the first pages have been consumed. A result set ending within the first pages never waits
+ * on the count at all. Splitting and estimating the size wait for the count, after which the remaining pages are
+ * halved as {@link PageRangeSpliterator} does, each first page being taken from its fetch already under way.
+ *
+ * Not SIZED as the size is unknown until the count has returned.
+ */
+public class EagerPageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int EAGER_PAGE_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | CONCURRENT;
+
+    private static final long UNKNOWN = -1;
+
+    private final EagerFetches<T> fetches;
+    private long startPage;
+    private long endPage;
+    private boolean finished;
+
+    @VisibleForTesting
+    EagerPageSpliterator(final EagerFetches<T> fetches, final long startPage, final long endPage) {
+        this.fetches = fetches;
+        this.startPage = startPage;
+        this.endPage = endPage;
+    }
+
+    static <R> EagerPageSpliterator<R> create(
+            final SliceFetcher<R> fetcher,
+            final int pageSize,
+            final LongSupplier countSupplier,
+            final Executor executor,
+            final int firstPages) {
+        if (firstPages < 1) {
+            throw new IllegalArgumentException("At least the first page has to be fetched eagerly");
+        }
+        return new EagerPageSpliterator<>(
+                new EagerFetches<>(fetcher, pageSize, countSupplier, executor, firstPages), 0, UNKNOWN);
+    }
+
+    @Override
+    List<T> nextPage() {
+        fetches.start();
+        boolean countNeeded = endPage != UNKNOWN || startPage >= fetches.getFirstPages();
+        if (finished || (countNeeded && startPage >= getEndPage())) {
+            return null;
+        }
+
+        List<T> page = fetches.page(startPage++);
+        if (page.size() < fetches.pageSize) {
+            finished = true;
+        }
+        return page;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        boolean advanced = super.tryAdvance(action);
+        if (!advanced) {
+            close();
+        }
+        return advanced;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        super.forEachRemaining(action);
+        close();
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        fetches.start();
+        long remainingPages = getEndPage() - startPage;
+        if (isPartwayThroughPage() || finished || remainingPages < 2) {
+            return null;
+        }
+
+        long midPage = startPage + remainingPages / 2;
+        EagerPageSpliterator<T> childSpliterator = new EagerPageSpliterator<>(fetches, startPage, midPage);
+        this.startPage = midPage;
+        return childSpliterator;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (finished) {
+            return 0;
+        }
+        fetches.start();
+        long firstElement = startPage * fetches.pageSize;
+        long lastElement = Math.min(getEndPage() * fetches.pageSize, fetches.count());
+        return Math.max(0, lastElement - firstElement);
+    }
+
+    @Override
+    public int characteristics() {
+        return EAGER_PAGE_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    /**
+     * Cancel the count and the first page fetches not yet consumed by any of the stream's spliterators, only
+     * pages this spliterator would have consumed are cancelled.
+     */
+    void close() {
+        fetches.cancel(startPage, getEndPageIfKnown());
+    }
+
+    private long getEndPage() {
+        if (endPage == UNKNOWN) {
+            endPage = fetches.numberOfPages();
+        }
+        return endPage;
+    }
+
+    private long getEndPageIfKnown() {
+        return endPage == UNKNOWN ? Long.MAX_VALUE : endPage;
+    }
+
+    /**
+     * The count and first page fetches shared by the spliterators of one stream.
+     */
+    static final class EagerFetches<T> {
+
+        private final SliceFetcher<T> fetcher;
+        private final int pageSize;
+        private final LongSupplier countSupplier;
+        private final Executor executor;
+        private final int firstPages;
+        private CompletableFuture<Long> count;
+        private List<CompletableFuture<List<T>>> firstPageFetches;
+
+        EagerFetches(
+                final SliceFetcher<T> fetcher,
+                final int pageSize,
+                final LongSupplier countSupplier,
+                final Executor executor,
+                final int firstPages) {
+            this.fetcher = fetcher;
+            this.pageSize = pageSize;
+            this.countSupplier = countSupplier;
+            this.executor = executor;
+            this.firstPages = firstPages;
+        }
+
+        synchronized void start() {
+            if (count != null) {
+                return;
+            }
+
+            firstPageFetches = new ArrayList<>(firstPages);
+            for (int i = 0; i < firstPages; i++) {
+                long pageNumber = i;
+                firstPageFetches.add(CompletableFuture.supplyAsync(
+                        () -> fetcher.fetch(pageNumber, pageSize).getContent(), executor));
+            }
+            count = CompletableFuture.supplyAsync(countSupplier::getAsLong, executor);
+        }
+
+        List<T> page(final long pageNumber) {
+            if (pageNumber < firstPages) {
+                return Futures.await(firstPageFetch(pageNumber));
+            }
+            return fetcher.fetch(pageNumber, pageSize).getContent();
+        }
+
+        long count() {
+            return Futures.await(countFuture());
+        }
+
+        long numberOfPages() {
+            return (count() + pageSize - 1) / pageSize;
+        }
+
+        int getFirstPages() {
+            return firstPages;
+        }
+
+        synchronized void cancel(final long fromPage, final long toPage) {
+            if (count == null) {
+                return;
+            }
+            count.cancel(false);
+            for (long i = fromPage; i < Math.min(toPage, firstPages); i++) {
+                firstPageFetches.get((int) i).cancel(false);
+            }
+        }
+
+        private synchronized CompletableFuture<Long> countFuture() {
+            return count;
+        }
+
+        private synchronized CompletableFuture<List<T>> firstPageFetch(final long pageNumber) {
+            return firstPageFetches.get((int) pageNumber);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs every fetch of the delegate on a dedicated executor. The calling thread waits for the page as a managed
+ * blocker, so when called from a parallel stream the fork join pool is compensated for the blocked worker and
+ * the number of concurrent fetches is governed by the executor rather than by the number of CPUs.
+ */
+public class ExecutorPageFetcher<T> implements PageFetcher<T> {
+
+    private final PageFetcher<T> delegate;
+    private final Executor executor;
+
+    ExecutorPageFetcher(final PageFetcher<T> delegate, final Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public Page<T> fetch(final long offset, final int pageSize) {
+        return Futures.await(CompletableFuture.supplyAsync(() -> delegate.fetch(offset, pageSize), executor));
+    }
+}
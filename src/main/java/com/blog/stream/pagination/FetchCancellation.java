@@ -0,0 +1,145 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cancels the fetches of one or more streams, see {@link PageFetchers#cancellable(PageFetcher, FetchCancellation)}.
+ *
+ * Once cancelled, or once the deadline has passed, no further fetch is started and fetches fail with a
+ * {@link CancellationException}. Cancelling also interrupts the threads still running a fetch, so a query
+ * blocked on the database is abandoned rather than run to completion. Fetches already running when the deadline
+ * passes are left to complete.
+ *
+ * Every stream created by {@link PaginationUtils} cancels its own fetches when it is closed, a cancellation only
+ * has to be given for a deadline or to cancel several streams together.
+ */
+public final class FetchCancellation {
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadlineNanos;
+    private final Set<Thread> fetchingThreads = new HashSet<>();
+    private final Set<Thread> interruptedThreads = new HashSet<>();
+    private volatile boolean cancelled;
+
+    private FetchCancellation(final long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * @return Cancellation which only cancels when {@link #cancel()} is called
+     */
+    public static FetchCancellation create() {
+        return new FetchCancellation(NO_DEADLINE);
+    }
+
+    /**
+     * @param timeout Time from now after which no further fetch is started
+     * @return Cancellation which also cancels once the timeout has passed
+     */
+    public static FetchCancellation withDeadline(final Duration timeout) {
+        return new FetchCancellation(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Stop any further fetch starting and interrupt the fetches in flight. Calling again has no effect.
+     */
+    public void cancel() {
+        synchronized (fetchingThreads) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            fetchingThreads.forEach(Thread::interrupt);
+            interruptedThreads.addAll(fetchingThreads);
+        }
+    }
+
+    /**
+     * @return true if cancelled or the deadline has passed
+     */
+    public boolean isCancelled() {
+        return cancelled || (deadlineNanos != NO_DEADLINE && System.nanoTime() - deadlineNanos >= 0);
+    }
+
+    /**
+     * Run the fetch on the current thread, registered to be interrupted if cancelled while it runs. An interrupt
+     * sent by the cancellation is cleared before returning so it does not leak into whatever the thread runs next,
+     * an interrupt already pending when the fetch started is kept.
+     */
+    <R> R run(final Supplier<R> fetch) {
+        Thread thread = Thread.currentThread();
+        boolean interruptedBefore = thread.isInterrupted();
+        synchronized (fetchingThreads) {
+            checkNotCancelled();
+            fetchingThreads.add(thread);
+        }
+
+        try {
+            return fetch.get();
+        } catch (RuntimeException e) {
+            if (cancelled) {
+                CancellationException cancellation = new CancellationException("Fetch cancelled");
+                cancellation.initCause(e);
+                throw cancellation;
+            }
+            throw e;
+        } finally {
+            synchronized (fetchingThreads) {
+                fetchingThreads.remove(thread);
+                if (interruptedThreads.remove(thread) && !interruptedBefore) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    <T> PageFetcher<T> cancellable(final PageFetcher<T> fetcher) {
+        return (pageNumber, pageSize) -> run(() -> fetcher.fetch(pageNumber, pageSize));
+    }
+
+    <T> SliceFetcher<T> cancellable(final SliceFetcher<T> fetcher) {
+        return (pageNumber, pageSize) -> run(() -> fetcher.fetch(pageNumber, pageSize));
+    }
+
+    <T, K> KeysetPageFetcher<T, K> cancellableKeyset(final KeysetPageFetcher<T, K> fetcher) {
+        return (lastKey, pageSize) -> run(() -> fetcher.fetch(lastKey, pageSize));
+    }
+
+    <T> KeyRangeFetcher<T> cancellableKeyRange(final KeyRangeFetcher<T> fetcher) {
+        return (fromKey, toKey, pageSize) -> run(() -> fetcher.fetch(fromKey, toKey, pageSize));
+    }
+
+    <T> OffsetFetcher<T> cancellableOffset(final OffsetFetcher<T> fetcher) {
+        return (offset, limit) -> run(() -> fetcher.fetch(offset, limit));
+    }
+
+    <T> Function<Pageable, Page<T>> cancellable(final Function<Pageable, Page<T>> fetcher) {
+        return pageable -> run(() -> fetcher.apply(pageable));
+    }
+
+    <T> List<SliceFetcher<T>> cancellable(final List<? extends SliceFetcher<T>> fetchers) {
+        List<SliceFetcher<T>> cancellable = new ArrayList<>(fetchers.size());
+        fetchers.forEach(fetcher -> cancellable.add(cancellable(fetcher)));
+        return cancellable;
+    }
+
+    private void checkNotCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Fetch cancelled");
+        }
+        if (isCancelled()) {
+            throw new CancellationException("Fetch deadline passed");
+        }
+    }
+}
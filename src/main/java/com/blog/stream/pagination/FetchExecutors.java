@@ -0,0 +1,83 @@
+package com.blog.stream.pagination;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executors suited to running blocking page fetches away from the common fork join pool.
+ */
+public final class FetchExecutors {
+
+    /**
+     * @param parallelism Maximum number of fetches run at once
+     * @return Pool of daemon threads named page-fetch-N, to be shut down by the caller
+     */
+    public static ExecutorService fixed(final int parallelism) {
+        return Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("page-fetch-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Start a new virtual thread for every fetch. Only available when running on JDK 21 or later.
+     *
+     * @return Executor starting a virtual thread per task
+     * @throws UnsupportedOperationException when the running JDK has no virtual threads
+     */
+    public static ExecutorService virtualThreadPerFetch() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or later", e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * Start a new virtual thread for every fetch, allowing at most maxConcurrentFetches to run at once.
+     * Fetches over the limit wait on their own virtual thread rather than holding a platform thread.
+     *
+     * @param maxConcurrentFetches Maximum number of fetches run at once
+     * @return Executor starting a virtual thread per task
+     * @throws UnsupportedOperationException when the running JDK has no virtual threads
+     */
+    public static Executor virtualThreadPerFetch(final int maxConcurrentFetches) {
+        return new BoundedExecutor(virtualThreadPerFetch(), maxConcurrentFetches);
+    }
+
+    static final class BoundedExecutor implements Executor {
+
+        private final Executor delegate;
+        private final Semaphore permits;
+
+        BoundedExecutor(final Executor delegate, final int maxConcurrentTasks) {
+            this.delegate = delegate;
+            this.permits = new Semaphore(maxConcurrentTasks, true);
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            delegate.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    private FetchExecutors() {
+
+    }
+}
@@ -0,0 +1,108 @@
+package com.blog.stream.pagination;
+
+import com.google.common.util.concurrent.RateLimiter;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of fetches running at once, and optionally the number started per second, across every fetcher
+ * and stream it is shared with, see {@link PageFetchers#limited(PageFetcher, FetchLimiter)}.
+ *
+ * Fetches over the limit wait their turn in arrival order rather than failing, so a parallel stream, or several
+ * streams sharing one connection pool, slow down instead of overloading the database. Waiting fetches block the
+ * calling thread without compensating the fork join pool, which is what stops a parallel stream piling on more.
+ */
+public final class FetchLimiter {
+
+    private final int maxConcurrentFetches;
+    private final Semaphore permits;
+    private final RateLimiter rateLimiter;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private FetchLimiter(final int maxConcurrentFetches, final RateLimiter rateLimiter) {
+        if (maxConcurrentFetches < 1) {
+            throw new IllegalArgumentException("Max concurrent fetches must be positive, was " + maxConcurrentFetches);
+        }
+        this.maxConcurrentFetches = maxConcurrentFetches;
+        this.permits = new Semaphore(maxConcurrentFetches, true);
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @param maxConcurrentFetches Number of fetches allowed to run at once
+     * @return Limiter capping concurrent fetches
+     */
+    public static FetchLimiter maxConcurrent(final int maxConcurrentFetches) {
+        return new FetchLimiter(maxConcurrentFetches, null);
+    }
+
+    /**
+     * @param maxConcurrentFetches Number of fetches allowed to run at once
+     * @param fetchesPerSecond     Number of fetches allowed to start per second, smoothed as a token bucket
+     * @return Limiter capping concurrent fetches and fetch rate
+     */
+    public static FetchLimiter maxConcurrent(final int maxConcurrentFetches, final double fetchesPerSecond) {
+        if (fetchesPerSecond <= 0) {
+            throw new IllegalArgumentException("Fetches per second must be positive, was " + fetchesPerSecond);
+        }
+        return new FetchLimiter(maxConcurrentFetches, RateLimiter.create(fetchesPerSecond));
+    }
+
+    /**
+     * Wait for a concurrency permit and then for the rate limit, in that order so a fetch only takes a rate token
+     * once it is able to run.
+     *
+     * @return Nanoseconds spent waiting
+     */
+    long acquire() {
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting to fetch page");
+        }
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+
+        long waited = System.nanoTime() - start;
+        acquired.increment();
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        return waited;
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    public int getActiveFetches() {
+        return maxConcurrentFetches - permits.availablePermits();
+    }
+
+    /**
+     * @return Estimate of the number of fetches currently waiting for a permit
+     */
+    public int getWaitingFetches() {
+        return permits.getQueueLength();
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    public long getTotalWait(final TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxWait(final TimeUnit unit) {
+        return unit.convert(maxWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+}
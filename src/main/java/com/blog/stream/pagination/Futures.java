@@ -0,0 +1,120 @@
+package com.blog.stream.pagination;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+final class Futures {
+
+    /**
+     * Wait for the future to complete, rethrowing the fetchers own unchecked exception rather than the
+     * CompletionException it has been wrapped in.
+     */
+    static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * As {@link #join(CompletableFuture)}, but tells the fork join pool the calling thread is blocked so that it
+     * can compensate with a spare worker. A parallel stream waiting on page fetches then keeps its CPU
+     * parallelism rather than having its workers parked on I/O.
+     */
+    static <T> T await(final CompletableFuture<T> future) {
+        if (!future.isDone()) {
+            try {
+                ForkJoinPool.managedBlock(new FutureBlocker(future));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                throw new CancellationException("Interrupted while waiting for page");
+            }
+        }
+        return join(future);
+    }
+
+    /**
+     * Wait up to the given time for the future to complete, as a managed blocker.
+     *
+     * @return true if the future completed, normally or not, within the time
+     */
+    static boolean awaitDone(final CompletableFuture<?> future, final long nanos) {
+        if (!future.isDone()) {
+            try {
+                ForkJoinPool.managedBlock(new TimedFutureBlocker(future, System.nanoTime() + nanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                throw new CancellationException("Interrupted while waiting for page");
+            }
+        }
+        return future.isDone();
+    }
+
+    private static class FutureBlocker implements ForkJoinPool.ManagedBlocker {
+
+        final CompletableFuture<?> future;
+
+        private FutureBlocker(final CompletableFuture<?> future) {
+            this.future = future;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            try {
+                future.get();
+            } catch (ExecutionException | CancellationException e) {
+                //surfaced by join once the blocker is released
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone();
+        }
+    }
+
+    private static final class TimedFutureBlocker extends FutureBlocker {
+
+        private final long deadline;
+
+        private TimedFutureBlocker(final CompletableFuture<?> future, final long deadline) {
+            super(future);
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            try {
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException | TimeoutException e) {
+                //outcome checked by the caller once the blocker is released
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone() || deadline - System.nanoTime() <= 0;
+        }
+    }
+
+    private Futures() {
+
+    }
+}
@@ -0,0 +1,143 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.springframework.data.domain.Page;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs every fetch of the delegate on an executor and, when a fetch has taken longer than the given percentile of
+ * recent fetch latencies, starts a duplicate fetch of the same page. Whichever completes successfully first is
+ * returned and the other is discarded.
+ *
+ * The discarded fetch is not interrupted, its result is simply dropped when it completes. Hedging is only
+ * worthwhile for fetchers that are safe to repeat, and the executor needs spare threads for the duplicates.
+ */
+public class HedgedPageFetcher<T> implements PageFetcher<T> {
+
+    static final int LATENCY_WINDOW = 128;
+    static final int MIN_SAMPLES = 20;
+
+    private final PageFetcher<T> delegate;
+    private final Executor executor;
+    private final LatencyWindow latencies;
+
+    HedgedPageFetcher(
+            final PageFetcher<T> delegate,
+            final Executor executor,
+            final double percentile,
+            final int window,
+            final int minSamples) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1 exclusive, was " + percentile);
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.latencies = new LatencyWindow(percentile, window, minSamples);
+    }
+
+    static <R> HedgedPageFetcher<R> create(
+            final PageFetcher<R> delegate, final Executor executor, final double percentile) {
+        return new HedgedPageFetcher<>(delegate, executor, percentile, LATENCY_WINDOW, MIN_SAMPLES);
+    }
+
+    /**
+     * Until enough fetches have completed to estimate the percentile no fetch is hedged.
+     */
+    @Override
+    public Page<T> fetch(final long offset, final int pageSize) {
+        CompletableFuture<Page<T>> primary = submit(offset, pageSize);
+
+        long hedgeAfterNanos = latencies.threshold();
+        if (hedgeAfterNanos < 0 || Futures.awaitDone(primary, hedgeAfterNanos)) {
+            return Futures.await(primary);
+        }
+
+        CompletableFuture<Page<T>> hedge = submit(offset, pageSize);
+        try {
+            return Futures.await(firstSuccessful(primary, hedge));
+        } finally {
+            primary.cancel(false);
+            hedge.cancel(false);
+        }
+    }
+
+    @VisibleForTesting
+    long getHedgeThresholdNanos() {
+        return latencies.threshold();
+    }
+
+    private CompletableFuture<Page<T>> submit(final long offset, final int pageSize) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            Page<T> page = delegate.fetch(offset, pageSize);
+            latencies.record(System.nanoTime() - start);
+            return page;
+        }, executor);
+    }
+
+    /**
+     * Completes with the first of the pages to succeed, or with the last failure if neither does.
+     */
+    private static <R> CompletableFuture<R> firstSuccessful(
+            final CompletableFuture<R> first, final CompletableFuture<R> second) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        BiConsumer<R, Throwable> complete = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (failures.incrementAndGet() == 2) {
+                result.completeExceptionally(error);
+            }
+        };
+
+        first.whenComplete(complete);
+        second.whenComplete(complete);
+        return result;
+    }
+
+    /**
+     * Ring buffer of the most recent fetch latencies.
+     */
+    static class LatencyWindow {
+
+        private final double percentile;
+        private final int minSamples;
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(final double percentile, final int window, final int minSamples) {
+            this.percentile = percentile;
+            this.minSamples = minSamples;
+            this.samples = new long[window];
+        }
+
+        synchronized void record(final long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        /**
+         * @return Latency at the percentile of the recorded samples, -1 while there are fewer than minSamples
+         */
+        long threshold() {
+            long[] sorted;
+            synchronized (this) {
+                if (size < minSamples) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(samples, size);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.blog.stream.pagination;
+
+import java.util.List;
+
+public interface KeyRangeFetcher<T> {
+    /**
+     * @param fromKey  Lowest key to return, inclusive
+     * @param toKey    Highest key to return, inclusive
+     * @param pageSize Maximum number of elements to return
+     * @return Elements ordered by key whose key is between fromKey and toKey, e.g. WHERE id BETWEEN ? AND ?
+     * ORDER BY id LIMIT ?
+     */
+    List<T> fetch(final long fromKey, final long toKey, final int pageSize);
+}
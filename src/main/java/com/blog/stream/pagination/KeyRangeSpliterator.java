@@ -0,0 +1,154 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Spliterator over a range of numeric primary keys, read as keyset pages bounded by the range, e.g.
+ * WHERE id BETWEEN ? AND ? ORDER BY id LIMIT ?.
+ *
+ * Splitting halves the range of keys not yet read rather than the rows, so the split is unaffected by rows
+ * inserted or deleted during the scan and no page pays for an offset. Keys are rarely spread evenly, so the
+ * number of rows in a range is not known from its keys. Before a range is split its first page is fetched, and
+ * kept for the first half. A short page holds every row of the range, which is not split. A full page marks the
+ * range as heavy, and its remaining keys are halved unless the density of keys towards the end of the page
+ * suggests fewer than two more pages. Densely populated ranges are therefore split again and again, while sparse
+ * ranges stop splitting as soon as they are found to be light. Every page fetched to decide a split is one the
+ * stream needs anyway.
+ *
+ * Not SIZED, the size of a range is unknown until its last page has been fetched.
+ */
+public class KeyRangeSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int KEY_RANGE_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | CONCURRENT;
+
+    private long nextKey;
+    private long endKey;
+    private List<T> probedPage;
+    private boolean finished;
+    private double rowsPerKey;
+    private final int pageSize;
+    private final KeyRangeFetcher<T> pageFetcher;
+    private final ToLongFunction<? super T> keyExtractor;
+
+    @VisibleForTesting
+    KeyRangeSpliterator(
+            final long nextKey,
+            final long endKey,
+            final int pageSize,
+            final KeyRangeFetcher<T> pageFetcher,
+            final ToLongFunction<? super T> keyExtractor) {
+        this.nextKey = nextKey;
+        this.endKey = endKey;
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+        this.keyExtractor = keyExtractor;
+    }
+
+    /**
+     * @param minKey Lowest key of the result set, e.g. SELECT min(id)
+     * @param maxKey Highest key of the result set, e.g. SELECT max(id), lower than minKey for an empty result set
+     */
+    static <R> KeyRangeSpliterator<R> create(
+            final long minKey,
+            final long maxKey,
+            final int pageSize,
+            final KeyRangeFetcher<R> pageFetcher,
+            final ToLongFunction<? super R> keyExtractor) {
+        return new KeyRangeSpliterator<>(minKey, maxKey, pageSize, pageFetcher, keyExtractor);
+    }
+
+    @Override
+    List<T> nextPage() {
+        if (probedPage != null) {
+            List<T> page = probedPage;
+            probedPage = null;
+            return page;
+        }
+        if (finished || nextKey > endKey) {
+            return null;
+        }
+
+        return fetch();
+    }
+
+    /**
+     * Probe the keys not yet read by fetching their first page. If the page is full, and the keys after it look to
+     * hold at least two more pages, they are split in half. The child takes the probed page and the first half,
+     * this spliterator keeps the second half.
+     *
+     * @return Child spliterator over the first half of the remaining keys
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (isPartwayThroughPage() || finished || nextKey > endKey) {
+            return null;
+        }
+        if (probedPage == null) {
+            probedPage = fetch();
+        }
+        if (finished || nextKey >= endKey || rowsPerKey * ((double) endKey - nextKey + 1) < 2 * pageSize) {
+            return null;
+        }
+
+        long midKey = (nextKey & endKey) + ((nextKey ^ endKey) >> 1);
+        KeyRangeSpliterator<T> childSpliterator =
+                new KeyRangeSpliterator<>(nextKey, midKey, pageSize, pageFetcher, keyExtractor);
+        childSpliterator.probedPage = probedPage;
+        childSpliterator.rowsPerKey = rowsPerKey;
+        this.probedPage = null;
+        this.nextKey = midKey + 1;
+        return childSpliterator;
+    }
+
+    /**
+     * Unknown until the last page of the range has been fetched, so ranges keep splitting until found to be light.
+     */
+    @Override
+    public long estimateSize() {
+        if (finished || nextKey > endKey) {
+            return probedPage == null ? 0 : probedPage.size();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return KEY_RANGE_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    /**
+     * Fetch the next page of the range, a short page holds every remaining row of the range. The density of keys
+     * over the second half of a full page is kept as the best guess of the density of the keys following it.
+     */
+    private List<T> fetch() {
+        List<T> page = pageFetcher.fetch(nextKey, endKey, pageSize);
+        if (page.size() < pageSize) {
+            finished = true;
+            return page;
+        }
+
+        long lastKey = keyExtractor.applyAsLong(page.get(page.size() - 1));
+        long middleKey = keyExtractor.applyAsLong(page.get(page.size() / 2));
+        rowsPerKey = (page.size() - page.size() / 2) / ((double) lastKey - middleKey + 1);
+        if (lastKey >= endKey) {
+            finished = true;
+        } else {
+            nextKey = lastKey + 1;
+        }
+        return page;
+    }
+
+    @VisibleForTesting
+    long getNextKey() {
+        return nextKey;
+    }
+
+    @VisibleForTesting
+    long getEndKey() {
+        return endKey;
+    }
+}
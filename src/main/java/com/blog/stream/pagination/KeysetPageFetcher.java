@@ -0,0 +1,12 @@
+package com.blog.stream.pagination;
+
+import java.util.List;
+
+public interface KeysetPageFetcher<T, K> {
+    /**
+     * @param lastKey  Key of the last element of the previous page, null when fetching the first page
+     * @param pageSize Maximum number of elements to return
+     * @return Elements ordered by key whose key is strictly after lastKey
+     */
+    List<T> fetch(final K lastKey, final int pageSize);
+}
@@ -0,0 +1,78 @@
+package com.blog.stream.pagination;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Function;
+
+public class KeysetPageSpliterator<T, K> extends BufferedPageSpliterator<T> {
+
+    static final int KEYSET_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE;
+
+    private K lastKey;
+    private boolean finished;
+    private final PageSizer pageSizer;
+    private final KeysetPageFetcher<T, K> pageFetcher;
+    private final Function<? super T, ? extends K> keyExtractor;
+
+    KeysetPageSpliterator(
+            final K lastKey,
+            final PageSizer pageSizer,
+            final KeysetPageFetcher<T, K> pageFetcher,
+            final Function<? super T, ? extends K> keyExtractor) {
+        this.lastKey = lastKey;
+        this.pageSizer = pageSizer;
+        this.pageFetcher = pageFetcher;
+        this.keyExtractor = keyExtractor;
+    }
+
+    static <R, S> KeysetPageSpliterator<R, S> create(
+            final PageSizer pageSizer,
+            final KeysetPageFetcher<R, S> pageFetcher,
+            final Function<? super R, ? extends S> keyExtractor) {
+        return new KeysetPageSpliterator<>(null, pageSizer, pageFetcher, keyExtractor);
+    }
+
+    /**
+     * Each page is requested from the key of the last element seen, so every query seeks straight to its
+     * starting row rather than scanning past an offset. A short page marks the end of the result set.
+     *
+     * As pages are positioned by key alone, the page size is free to change from one fetch to the next.
+     */
+    @Override
+    List<T> nextPage() {
+        if (finished) {
+            return null;
+        }
+
+        int pageSize = pageSizer.nextPageSize();
+        long start = System.nanoTime();
+        List<T> page = pageFetcher.fetch(lastKey, pageSize);
+        pageSizer.record(pageSize, page.size(), System.nanoTime() - start);
+
+        if (page.size() < pageSize) {
+            finished = true;
+        } else {
+            lastKey = keyExtractor.apply(page.get(page.size() - 1));
+        }
+        return page;
+    }
+
+    /**
+     * The key a later page starts from is only known once the page before it has been read, so keyset
+     * pages cannot be split off ahead of time.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return KEYSET_SPLITERATOR_CHARACTERISTICS;
+    }
+}
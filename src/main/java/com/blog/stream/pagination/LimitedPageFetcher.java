@@ -0,0 +1,27 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+
+public class LimitedPageFetcher<T> implements PageFetcher<T> {
+
+    private final PageFetcher<T> delegate;
+    private final FetchLimiter limiter;
+    private final PageFetchListener listener;
+
+    LimitedPageFetcher(final PageFetcher<T> delegate, final FetchLimiter limiter, final PageFetchListener listener) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.listener = listener;
+    }
+
+    @Override
+    public Page<T> fetch(final long offset, final int pageSize) {
+        long waitedNanos = limiter.acquire();
+        try {
+            listener.fetchQueued(offset, waitedNanos);
+            return delegate.fetch(offset, pageSize);
+        } finally {
+            limiter.release();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * K-way merge of shards which each return their elements sorted by the comparator.
+ *
+ * The head element of every shard is held in a priority queue and the smallest is emitted next, ties going to the
+ * earlier shard. Each shard fetches its next page on the executor as soon as its current page arrives, so every
+ * shard keeps one page of read ahead and a scan over k shards takes about as long as the slowest shard.
+ */
+public class MergingShardSpliterator<T> implements Spliterator<T> {
+
+    static final int MERGING_SPLITERATOR_CHARACTERISTICS = ORDERED | SORTED | IMMUTABLE;
+
+    private final List<ShardCursor> cursors = new ArrayList<>();
+    private final Comparator<? super T> comparator;
+    private final int pageSize;
+    private final Executor executor;
+    private final PriorityQueue<ShardCursor> heads;
+    private boolean started;
+
+    MergingShardSpliterator(
+            final List<? extends SliceFetcher<T>> shardFetchers,
+            final int pageSize,
+            final Comparator<? super T> comparator,
+            final Executor executor) {
+        for (int i = 0; i < shardFetchers.size(); i++) {
+            cursors.add(new ShardCursor(i, shardFetchers.get(i)));
+        }
+        this.comparator = comparator;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.heads = new PriorityQueue<>(Math.max(1, cursors.size()), (first, second) -> {
+            int compared = comparator.compare(first.head, second.head);
+            return compared != 0 ? compared : Integer.compare(first.index, second.index);
+        });
+    }
+
+    static <R> MergingShardSpliterator<R> create(
+            final List<? extends SliceFetcher<R>> shardFetchers,
+            final int pageSize,
+            final Comparator<? super R> comparator,
+            final Executor executor) {
+        return new MergingShardSpliterator<>(shardFetchers, pageSize, comparator, executor);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (!started) {
+            start();
+        }
+
+        ShardCursor smallest = heads.poll();
+        if (smallest == null) {
+            return false;
+        }
+
+        T element = smallest.head;
+        if (smallest.advance()) {
+            heads.add(smallest);
+        }
+        action.accept(element);
+        return true;
+    }
+
+    /**
+     * Request the first page of every shard before waiting on any of them.
+     */
+    private void start() {
+        started = true;
+        cursors.forEach(cursor -> cursor.next = cursor.submit());
+        for (ShardCursor cursor : cursors) {
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+    }
+
+    /**
+     * Cancel any pages still being fetched.
+     */
+    void close() {
+        for (ShardCursor cursor : cursors) {
+            if (cursor.next != null) {
+                cursor.next.cancel(true);
+                cursor.next = null;
+            }
+        }
+        heads.clear();
+    }
+
+    /**
+     * Elements are merged through a single queue of shard heads, so this spliterator is never split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return MERGING_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return comparator;
+    }
+
+    private final class ShardCursor {
+
+        private final int index;
+        private final SliceFetcher<T> fetcher;
+        private long nextPageNumber;
+        private CompletableFuture<Slice<T>> next;
+        private Iterator<T> current;
+        private T head;
+
+        private ShardCursor(final int index, final SliceFetcher<T> fetcher) {
+            this.index = index;
+            this.fetcher = fetcher;
+        }
+
+        private CompletableFuture<Slice<T>> submit() {
+            long pageNumber = nextPageNumber++;
+            return CompletableFuture.supplyAsync(() -> fetcher.fetch(pageNumber, pageSize), executor);
+        }
+
+        /**
+         * Move the head on to the shard's next element, waiting for its next page if the current one is used up.
+         *
+         * @return false once the shard has no more elements
+         */
+        private boolean advance() {
+            while (current == null || !current.hasNext()) {
+                if (next == null) {
+                    head = null;
+                    return false;
+                }
+                Slice<T> slice = Futures.await(next);
+                next = slice.hasNext() ? submit() : null;
+                current = slice.getContent().iterator();
+            }
+            head = current.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+
+public class MeteredPageFetcher<T> implements PageFetcher<T> {
+
+    private final PageFetcher<T> delegate;
+    private final PageFetchListener listener;
+
+    MeteredPageFetcher(final PageFetcher<T> delegate, final PageFetchListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public Page<T> fetch(final long offset, final int pageSize) {
+        listener.fetchStarted(offset);
+        long start = System.nanoTime();
+        try {
+            Page<T> page = delegate.fetch(offset, pageSize);
+            listener.fetchCompleted(offset, page.getNumberOfElements(), System.nanoTime() - start);
+            return page;
+        } catch (RuntimeException | Error e) {
+            listener.fetchFailed(offset, e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+}
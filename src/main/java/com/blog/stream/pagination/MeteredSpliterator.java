@@ -0,0 +1,59 @@
+package com.blog.stream.pagination;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Reports splits and the time spent traversing the wrapped spliterator, and of every spliterator split from it.
+ */
+class MeteredSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<T> delegate;
+    private final PageFetchListener listener;
+
+    MeteredSpliterator(final Spliterator<T> delegate, final PageFetchListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        long start = System.nanoTime();
+        try {
+            return delegate.tryAdvance(action);
+        } finally {
+            listener.traversed(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        long start = System.nanoTime();
+        try {
+            delegate.forEachRemaining(action);
+        } finally {
+            listener.traversed(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        Spliterator<T> child = delegate.trySplit();
+        if (child == null) {
+            return null;
+        }
+
+        listener.split();
+        return new MeteredSpliterator<>(child, listener);
+    }
+
+    @Override
+    public long estimateSize() {
+        return delegate.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return delegate.characteristics();
+    }
+}
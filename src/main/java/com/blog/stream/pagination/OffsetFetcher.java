@@ -0,0 +1,12 @@
+package com.blog.stream.pagination;
+
+import java.util.List;
+
+public interface OffsetFetcher<T> {
+    /**
+     * @param offset Number of rows to skip
+     * @param limit  Maximum number of rows to return
+     * @return Rows starting at the offset
+     */
+    List<T> fetch(final long offset, final int limit);
+}
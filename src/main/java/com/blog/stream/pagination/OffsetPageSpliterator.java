@@ -0,0 +1,63 @@
+package com.blog.stream.pagination;
+
+import java.util.List;
+import java.util.Spliterator;
+
+public class OffsetPageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int OFFSET_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE;
+
+    private long offset;
+    private boolean finished;
+    private final PageSizer pageSizer;
+    private final OffsetFetcher<T> offsetFetcher;
+
+    OffsetPageSpliterator(
+            final long offset,
+            final PageSizer pageSizer,
+            final OffsetFetcher<T> offsetFetcher) {
+        this.offset = offset;
+        this.pageSizer = pageSizer;
+        this.offsetFetcher = offsetFetcher;
+    }
+
+    static <R> OffsetPageSpliterator<R> create(final PageSizer pageSizer, final OffsetFetcher<R> offsetFetcher) {
+        return new OffsetPageSpliterator<>(0, pageSizer, offsetFetcher);
+    }
+
+    /**
+     * The next offset is advanced by the rows actually returned rather than by page number times page size, so it
+     * stays correct when the page size changes from one fetch to the next. A short page marks the end of the
+     * result set.
+     */
+    @Override
+    List<T> nextPage() {
+        if (finished) {
+            return null;
+        }
+
+        int pageSize = pageSizer.nextPageSize();
+        long start = System.nanoTime();
+        List<T> page = offsetFetcher.fetch(offset, pageSize);
+        pageSizer.record(pageSize, page.size(), System.nanoTime() - start);
+
+        offset += page.size();
+        finished = page.size() < pageSize;
+        return page;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return OFFSET_SPLITERATOR_CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,222 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fetches pages on up to the given number of workers at once and hands them to the consumer in page order.
+ *
+ * Fetched pages wait in a reorder buffer until every page before them has been taken. The buffer is bounded by
+ * page count: no page is fetched until every page more than bufferPages before it has been taken by the
+ * consumer, so a slow consumer holds at most bufferPages pages in memory, counting pages still being fetched.
+ * Fetches are scheduled as pages complete and as the consumer takes them rather than by long running workers, so
+ * an abandoned stream leaves nothing blocked on the executor.
+ */
+public class OrderedConcurrentSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int ORDERED_CONCURRENT_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED;
+
+    private static final long NO_FAILURE = Long.MAX_VALUE;
+
+    private final long count;
+    private final long numberOfPages;
+    private final int pageSize;
+    private final int workers;
+    private final int bufferPages;
+    private final SliceFetcher<T> pageFetcher;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pageArrived = lock.newCondition();
+    private final Map<Long, List<T>> reorderBuffer = new HashMap<>();
+    private long nextPageToFetch;
+    private long nextPageToTake;
+    private int activeFetches;
+    private long failedPage = NO_FAILURE;
+    private Throwable failure;
+    private boolean closed;
+
+    OrderedConcurrentSpliterator(
+            final long count,
+            final int pageSize,
+            final int workers,
+            final int bufferPages,
+            final SliceFetcher<T> pageFetcher,
+            final Executor executor) {
+        if (workers < 1 || bufferPages < 1) {
+            throw new IllegalArgumentException(
+                    "Workers and buffer pages must be positive, were " + workers + " and " + bufferPages);
+        }
+        this.count = count;
+        this.numberOfPages = (count + pageSize - 1) / pageSize;
+        this.pageSize = pageSize;
+        this.workers = workers;
+        this.bufferPages = bufferPages;
+        this.pageFetcher = pageFetcher;
+        this.executor = executor;
+    }
+
+    static <R> OrderedConcurrentSpliterator<R> create(
+            final long count,
+            final int pageSize,
+            final int workers,
+            final int bufferPages,
+            final SliceFetcher<R> pageFetcher,
+            final Executor executor) {
+        return new OrderedConcurrentSpliterator<>(count, pageSize, workers, bufferPages, pageFetcher, executor);
+    }
+
+    /**
+     * Take the next page in order, waiting for it if it has not yet arrived. Pages after it which have already
+     * arrived stay buffered, a failed fetch is only thrown once every page before it has been taken. Every page
+     * before a failed page has already been scheduled, so taking them waits on fetches still in flight.
+     */
+    @Override
+    List<T> nextPage() {
+        schedule();
+
+        List<T> page;
+        lock.lock();
+        try {
+            while (!reorderBuffer.containsKey(nextPageToTake)) {
+                if (nextPageToTake >= numberOfPages || closed) {
+                    return null;
+                }
+                if (nextPageToTake == failedPage) {
+                    throw rethrow(failure);
+                }
+                pageArrived.await();
+            }
+            page = reorderBuffer.remove(nextPageToTake++);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new CancellationException("Interrupted while waiting for page");
+        } finally {
+            lock.unlock();
+        }
+
+        schedule();
+        return page;
+    }
+
+    /**
+     * Start fetches until the workers are busy or the buffer is full. Called by the consumer after taking a page
+     * and by each fetch as it completes.
+     */
+    private void schedule() {
+        while (true) {
+            long pageNumber;
+            lock.lock();
+            try {
+                if (closed
+                        || failedPage != NO_FAILURE
+                        || activeFetches >= workers
+                        || nextPageToFetch >= numberOfPages
+                        || nextPageToFetch >= nextPageToTake + bufferPages) {
+                    return;
+                }
+                pageNumber = nextPageToFetch++;
+                activeFetches++;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                executor.execute(() -> fetch(pageNumber));
+            } catch (RuntimeException e) {
+                completed(pageNumber, null, e);
+                return;
+            }
+        }
+    }
+
+    private void fetch(final long pageNumber) {
+        try {
+            completed(pageNumber, pageFetcher.fetch(pageNumber, pageSize).getContent(), null);
+        } catch (RuntimeException | Error e) {
+            completed(pageNumber, null, e);
+        }
+        schedule();
+    }
+
+    private void completed(final long pageNumber, final List<T> content, final Throwable error) {
+        lock.lock();
+        try {
+            activeFetches--;
+            if (error != null) {
+                if (pageNumber < failedPage) {
+                    failedPage = pageNumber;
+                    failure = error;
+                }
+            } else if (!closed) {
+                reorderBuffer.put(pageNumber, content);
+            }
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop scheduling fetches and drop buffered pages, fetches already running complete and are discarded.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            reorderBuffer.clear();
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return (RuntimeException) error;
+    }
+
+    /**
+     * Pages have to be delivered in order from a single buffer, so this spliterator is never split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        lock.lock();
+        try {
+            return Math.max(0, count - nextPageToTake * pageSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED_CONCURRENT_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    @VisibleForTesting
+    int getBufferedPages() {
+        lock.lock();
+        try {
+            return reorderBuffer.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Adapts fetchers so that each page of T is presented as a page of size one holding the page's content as its
+ * only element. The existing spliterators can then stream whole pages with their usual splitting and prefetching,
+ * page numbers and counts being the same as for the underlying result set.
+ */
+final class PageBatches {
+
+    static <T> PageFetcher<List<T>> pageFetcher(final PageFetcher<T> fetcher, final int pageSize) {
+        return (pageNumber, ignoredPageSize) -> {
+            Page<T> page = fetcher.fetch(pageNumber, pageSize);
+            return new PageImpl<>(asBatch(page), PageRequest.of(Math.toIntExact(pageNumber), 1), page.getTotalPages());
+        };
+    }
+
+    static <T> Function<Pageable, Page<List<T>>> pageableFetcher(
+            final Function<Pageable, Page<T>> fetcher, final Pageable pageable) {
+        return batchPageable -> {
+            Page<T> page = fetcher.apply(
+                    PageRequest.of(batchPageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()));
+            return new PageImpl<>(asBatch(page), batchPageable, page.getTotalPages());
+        };
+    }
+
+    /**
+     * Range of batch pages from the given pageable to the last page. The first page is fetched here to find the
+     * number of pages and is then served to the spliterator rather than fetched again.
+     */
+    static <T> PageRangeSpliterator<List<T>> pageableRange(
+            final Function<Pageable, Page<T>> fetcher, final Pageable pageable) {
+        AtomicReference<Page<T>> firstPage = new AtomicReference<>(fetcher.apply(pageable));
+        long numberOfPages = firstPage.get().getTotalPages();
+
+        PageFetcher<T> pageFetcher = (pageNumber, pageSize) -> {
+            Page<T> prefetched = pageNumber == pageable.getPageNumber() ? firstPage.getAndSet(null) : null;
+            if (prefetched != null) {
+                return prefetched;
+            }
+            return fetcher.apply(PageRequest.of(Math.toIntExact(pageNumber), pageSize, pageable.getSort()));
+        };
+
+        return new PageRangeSpliterator<>(
+                pageable.getPageNumber(),
+                numberOfPages,
+                numberOfPages,
+                1,
+                pageFetcher(pageFetcher, pageable.getPageSize()));
+    }
+
+    static Pageable batchPageable(final Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), 1, pageable.getSort());
+    }
+
+    static long numberOfPages(final long count, final int pageSize) {
+        return (count + pageSize - 1) / pageSize;
+    }
+
+    private static <T> List<List<T>> asBatch(final Page<T> page) {
+        return page.hasContent() ? Collections.singletonList(page.getContent()) : Collections.emptyList();
+    }
+
+    private PageBatches() {
+
+    }
+}
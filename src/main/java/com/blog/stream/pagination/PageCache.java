@@ -0,0 +1,116 @@
+package com.blog.stream.pagination;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In memory cache of pages which can be shared between fetchers and streams, see
+ * {@link PageFetchers#cached(PageFetcher, PageCache)}.
+ *
+ * Pages are keyed by the identity of the fetcher that loaded them together with the page number and page size, so
+ * a fetcher instance has to be reused across passes for them to be served from the cache. Concurrent requests for
+ * the same page wait on a single fetch rather than each querying the database.
+ */
+public final class PageCache {
+
+    private final Cache<Key, Page<?>> cache;
+
+    private PageCache(final Cache<Key, Page<?>> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * @param maximumPages Number of pages to hold before evicting the least recently used
+     * @param timeToLive   How long a page is served from the cache after being fetched
+     * @return Page cache bounded by number of pages
+     */
+    public static PageCache maximumPages(final long maximumPages, final Duration timeToLive) {
+        return new PageCache(CacheBuilder.newBuilder()
+                .maximumSize(maximumPages)
+                .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build());
+    }
+
+    /**
+     * @param maximumRows Number of rows, across all pages, to hold before evicting the least recently used pages
+     * @param timeToLive  How long a page is served from the cache after being fetched
+     * @return Page cache bounded by number of rows
+     */
+    public static PageCache maximumRows(final long maximumRows, final Duration timeToLive) {
+        return new PageCache(CacheBuilder.newBuilder()
+                .maximumWeight(maximumRows)
+                .weigher((Key key, Page<?> page) -> Math.max(1, page.getNumberOfElements()))
+                .expireAfterWrite(timeToLive.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build());
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Page<T> get(final PageFetcher<T> fetcher, final long pageNumber, final int pageSize) {
+        try {
+            return (Page<T>) cache.get(
+                    new Key(fetcher, pageNumber, pageSize), () -> fetcher.fetch(pageNumber, pageSize));
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to fetch page " + pageNumber, e.getCause());
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static final class Key {
+
+        private final PageFetcher<?> fetcher;
+        private final long pageNumber;
+        private final int pageSize;
+
+        private Key(final PageFetcher<?> fetcher, final long pageNumber, final int pageSize) {
+            this.fetcher = fetcher;
+            this.pageNumber = pageNumber;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return fetcher == key.fetcher
+                    && pageNumber == key.pageNumber
+                    && pageSize == key.pageSize;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(fetcher), pageNumber, pageSize);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.blog.stream.pagination;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durable record of which pages of a stream have been completely consumed, kept in a local file so a stream
+ * restarted after a crash can skip them, see
+ * {@link PaginationUtils#resumablePagedStream(SliceFetcher, int, long, PageCheckpoint)}.
+ *
+ * The file holds the page size followed by one 8 byte page number per completed page, in completion order, so
+ * pages completed out of order by a parallel stream are recorded as they finish. Every record is forced to disk
+ * before the next element is consumed. A record torn by a crash part way through a write is discarded on open,
+ * leaving that page to be streamed again.
+ */
+public final class PageCheckpoint implements Closeable {
+
+    private static final int RECORD_BYTES = Long.BYTES;
+
+    private final int pageSize;
+    private final FileChannel channel;
+    private final Set<Long> completedPages = ConcurrentHashMap.newKeySet();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+
+    private PageCheckpoint(final int pageSize, final FileChannel channel) {
+        this.pageSize = pageSize;
+        this.channel = channel;
+    }
+
+    /**
+     * Open the checkpoint file, creating it if it does not exist.
+     *
+     * @param file     Checkpoint file
+     * @param pageSize Page size of the stream, pages of a different size can not be resumed from the file
+     * @return Checkpoint holding the pages completed by earlier runs
+     * @throws IllegalStateException if the file was written for a different page size
+     */
+    public static PageCheckpoint open(final Path file, final int pageSize) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            PageCheckpoint checkpoint = new PageCheckpoint(pageSize, channel);
+            checkpoint.load();
+            return checkpoint;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Unable to open checkpoint " + file, e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private void load() throws IOException {
+        long completeBytes = channel.size() - channel.size() % RECORD_BYTES;
+        channel.truncate(completeBytes);
+
+        if (completeBytes == 0) {
+            appendRecord(pageSize);
+            return;
+        }
+
+        ByteBuffer contents = ByteBuffer.allocate(Math.toIntExact(completeBytes));
+        while (contents.hasRemaining() && channel.read(contents, contents.position()) >= 0) {
+            //read until full
+        }
+        contents.flip();
+
+        long recordedPageSize = contents.getLong();
+        if (recordedPageSize != pageSize) {
+            throw new IllegalStateException(
+                    "Checkpoint was written for page size " + recordedPageSize + ", not " + pageSize);
+        }
+        while (contents.hasRemaining()) {
+            completedPages.add(contents.getLong());
+        }
+        channel.position(completeBytes);
+    }
+
+    public boolean isCompleted(final long pageNumber) {
+        return completedPages.contains(pageNumber);
+    }
+
+    /**
+     * Durably record the page as completed.
+     */
+    public synchronized void markCompleted(final long pageNumber) {
+        if (!completedPages.add(pageNumber)) {
+            return;
+        }
+        try {
+            appendRecord(pageNumber);
+        } catch (IOException e) {
+            completedPages.remove(pageNumber);
+            throw new UncheckedIOException("Unable to record page " + pageNumber, e);
+        }
+    }
+
+    private void appendRecord(final long value) throws IOException {
+        record.clear();
+        record.putLong(value);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        channel.force(false);
+    }
+
+    public int getCompletedPages() {
+        return completedPages.size();
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void closeQuietly(final FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                //already failing to open
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.blog.stream.pagination;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serializes pages to bytes and reads them back, for spilling buffered pages off the heap.
+ */
+public interface PageCodec<T> extends PageSerializer<T> {
+
+    List<T> read(final InputStream input) throws IOException;
+
+    /**
+     * @return Codec using Java serialization, convenient but slower and larger than a codec written for the type
+     */
+    static <T extends Serializable> PageCodec<T> javaSerialization() {
+        return new PageCodec<T>() {
+            @Override
+            public void write(final List<T> page, final OutputStream output) throws IOException {
+                ObjectOutputStream objects = new ObjectOutputStream(output);
+                objects.writeObject(new ArrayList<>(page));
+                objects.flush();
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public List<T> read(final InputStream input) throws IOException {
+                try {
+                    return (List<T>) new ObjectInputStream(input).readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unable to read spilled page", e);
+                }
+            }
+        };
+    }
+}
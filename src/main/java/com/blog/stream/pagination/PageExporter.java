@@ -0,0 +1,253 @@
+package com.blog.stream.pagination;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes pages to a file from many threads without them contending on the file.
+ *
+ * Each calling thread serializes a whole page into one of a fixed pool of reusable buffers. A single writer thread
+ * drains every filled buffer waiting at that moment into the file with one gathering write, then returns the
+ * buffers to the pool. Callers wait for a free buffer when the writer falls behind, so memory is bounded by the
+ * number of buffers and export throughput scales with the number of threads fetching and serializing pages.
+ *
+ * Pages are written in the order they finish serializing, not in page order.
+ */
+public final class PageExporter<T> implements Closeable {
+
+    private final FileChannel channel;
+    private final PageSerializer<T> serializer;
+    private final BlockingQueue<PageBuffer> freeBuffers;
+    private final BlockingQueue<PageBuffer> filledBuffers = new LinkedBlockingQueue<>();
+    private final PageBuffer endOfPages = new PageBuffer();
+    private final Thread writer;
+
+    private volatile IOException failure;
+    private volatile long pagesWritten;
+    private volatile long bytesWritten;
+
+    private PageExporter(final FileChannel channel, final PageSerializer<T> serializer, final int buffers) {
+        if (buffers < 1) {
+            throw new IllegalArgumentException("Buffers must be positive, was " + buffers);
+        }
+        this.channel = channel;
+        this.serializer = serializer;
+        this.freeBuffers = new ArrayBlockingQueue<>(buffers);
+        for (int i = 0; i < buffers; i++) {
+            freeBuffers.add(new PageBuffer());
+        }
+        this.writer = new Thread(this::drain, "page-export-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Start an exporter appending to the channel at its current position. The channel is left open on close.
+     *
+     * @param channel    Channel pages are written to
+     * @param serializer Serializes a page into bytes
+     * @param buffers    Number of page buffers, bounding how many serialized pages wait for the writer
+     * @param <T>        Generic type of the pages exported
+     * @return Exporter with its writer thread started
+     */
+    public static <T> PageExporter<T> create(
+            final FileChannel channel, final PageSerializer<T> serializer, final int buffers) {
+        PageExporter<T> exporter = new PageExporter<>(channel, serializer, buffers);
+        exporter.writer.start();
+        return exporter;
+    }
+
+    /**
+     * Export the whole result set, fetching and serializing pages in up to parallelism tasks at once on the
+     * executor. Each task takes the next page not yet taken until every page has been exported, so throughput
+     * scales with the parallelism and blocking fetches stay off the common fork join pool. The calling thread
+     * waits, as a managed blocker, for every task to finish, and the first failure stops the remaining tasks taking
+     * further pages.
+     *
+     * @param fetcher     Interface for retrieving slices
+     * @param pageSize    Size of pages to be queries
+     * @param count       Overall size of result set, must be pre calculated
+     * @param executor    Executor the pages are fetched and serialized on, see {@link FetchExecutors}
+     * @param parallelism Maximum number of pages fetched and serialized at once
+     */
+    public void export(
+            final SliceFetcher<T> fetcher,
+            final int pageSize,
+            final long count,
+            final Executor executor,
+            final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, was " + parallelism);
+        }
+        long numberOfPages = (count + pageSize - 1) / pageSize;
+        AtomicLong nextPage = new AtomicLong();
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        Runnable exportPages = () -> {
+            try {
+                for (long pageNumber = nextPage.getAndIncrement();
+                     pageNumber < numberOfPages && !stopped.get();
+                     pageNumber = nextPage.getAndIncrement()) {
+                    write(fetcher.fetch(pageNumber, pageSize).getContent());
+                }
+            } catch (RuntimeException | Error e) {
+                stopped.set(true);
+                throw e;
+            }
+        };
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            tasks[i] = CompletableFuture.runAsync(exportPages, executor);
+        }
+        try {
+            Futures.await(CompletableFuture.allOf(tasks));
+        } catch (CancellationException e) {
+            stopped.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Serialize the page on the calling thread and queue it for the writer, waiting for a free buffer if every
+     * buffer is queued. Safe to call from many threads at once.
+     *
+     * @throws UncheckedIOException if serializing fails or the writer has failed
+     */
+    public void write(final List<T> page) {
+        throwIfFailed();
+
+        PageBuffer buffer = takeFreeBuffer();
+        try {
+            buffer.reset();
+            serializer.write(page, buffer);
+        } catch (IOException e) {
+            freeBuffers.add(buffer);
+            throw new UncheckedIOException("Unable to serialize page", e);
+        } catch (RuntimeException | Error e) {
+            freeBuffers.add(buffer);
+            throw e;
+        }
+        filledBuffers.add(buffer);
+    }
+
+    private PageBuffer takeFreeBuffer() {
+        try {
+            return freeBuffers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a page buffer");
+        }
+    }
+
+    private void drain() {
+        List<PageBuffer> batch = new ArrayList<>();
+        boolean finished = false;
+
+        while (!finished) {
+            try {
+                batch.add(filledBuffers.take());
+            } catch (InterruptedException e) {
+                failure = new InterruptedIOException("Page export writer interrupted");
+                return;
+            }
+            filledBuffers.drainTo(batch);
+            finished = batch.remove(endOfPages);
+
+            if (failure == null && !batch.isEmpty()) {
+                writeBatch(batch);
+            }
+            freeBuffers.addAll(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(final List<PageBuffer> batch) {
+        ByteBuffer[] contents = new ByteBuffer[batch.size()];
+        long remaining = 0;
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = batch.get(i).contents();
+            remaining += contents[i].remaining();
+        }
+
+        try {
+            while (remaining > 0) {
+                remaining -= channel.write(contents);
+            }
+        } catch (IOException e) {
+            failure = e;
+            return;
+        } catch (RuntimeException e) {
+            failure = new IOException("Unable to write pages", e);
+            return;
+        }
+
+        bytesWritten += batch.stream().mapToLong(PageBuffer::size).sum();
+        pagesWritten += batch.size();
+    }
+
+    private void throwIfFailed() {
+        IOException writerFailure = failure;
+        if (writerFailure != null) {
+            throw new UncheckedIOException("Page export writer failed", writerFailure);
+        }
+    }
+
+    public long getPagesWritten() {
+        return pagesWritten;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Wait for every queued page to be written and force them to disk. Pages must not be written concurrently
+     * with or after closing.
+     *
+     * @throws IOException if the writer failed to write any page
+     */
+    @Override
+    public void close() throws IOException {
+        filledBuffers.add(endOfPages);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for page export writer");
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Reusable buffer, keeping its grown capacity across pages.
+     */
+    private static final class PageBuffer extends ByteArrayOutputStream {
+
+        private PageBuffer() {
+            super(8192);
+        }
+
+        private ByteBuffer contents() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
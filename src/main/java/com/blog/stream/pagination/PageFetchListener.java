@@ -0,0 +1,36 @@
+package com.blog.stream.pagination;
+
+/**
+ * Callbacks describing how a paged stream is behaving. All methods default to doing nothing, so implementations
+ * only override what they record. Callbacks may be made from several threads at once.
+ *
+ * Comparing the time spent fetching with the time spent traversing shows whether a stream is held up by the
+ * database or by its consumer, see {@link PageFetchStats}.
+ */
+public interface PageFetchListener {
+
+    /**
+     * @param waitNanos Time the fetch waited for a {@link FetchLimiter} before it was allowed to start
+     */
+    default void fetchQueued(final long pageNumber, final long waitNanos) {
+    }
+
+    default void fetchStarted(final long pageNumber) {
+    }
+
+    default void fetchCompleted(final long pageNumber, final int rows, final long nanos) {
+    }
+
+    default void fetchFailed(final long pageNumber, final Throwable error, final long nanos) {
+    }
+
+    default void split() {
+    }
+
+    /**
+     * @param nanos Time spent inside a traversal call of the stream's spliterator, which includes any fetches made
+     *              on the traversing thread as well as the time spent by the consumer
+     */
+    default void traversed(final long nanos) {
+    }
+}
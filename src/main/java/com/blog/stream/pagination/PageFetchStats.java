@@ -0,0 +1,175 @@
+package com.blog.stream.pagination;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In memory {@link PageFetchListener} aggregating the fetches of one or more streams.
+ *
+ * Fetch latencies are kept in a histogram of power of two buckets, so percentiles are accurate to within a factor
+ * of two, which is plenty to tell a 5ms page from a 500ms one.
+ */
+public class PageFetchStats implements PageFetchListener {
+
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(Long.SIZE);
+    private final LongAdder pagesFetched = new LongAdder();
+    private final LongAdder rowsFetched = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder fetchNanos = new LongAdder();
+    private final LongAdder traversalNanos = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+    private final LongAdder splits = new LongAdder();
+    private final AtomicInteger pagesInFlight = new AtomicInteger();
+    private final AtomicInteger maxPagesInFlight = new AtomicInteger();
+
+    @Override
+    public void fetchQueued(final long pageNumber, final long waitNanos) {
+        queueNanos.add(waitNanos);
+        maxQueueNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    @Override
+    public void fetchStarted(final long pageNumber) {
+        int inFlight = pagesInFlight.incrementAndGet();
+        maxPagesInFlight.accumulateAndGet(inFlight, Math::max);
+    }
+
+    @Override
+    public void fetchCompleted(final long pageNumber, final int rows, final long nanos) {
+        pagesInFlight.decrementAndGet();
+        pagesFetched.increment();
+        rowsFetched.add(rows);
+        recordLatency(nanos);
+    }
+
+    @Override
+    public void fetchFailed(final long pageNumber, final Throwable error, final long nanos) {
+        pagesInFlight.decrementAndGet();
+        failures.increment();
+        recordLatency(nanos);
+    }
+
+    @Override
+    public void split() {
+        splits.increment();
+    }
+
+    @Override
+    public void traversed(final long nanos) {
+        traversalNanos.add(nanos);
+    }
+
+    private void recordLatency(final long nanos) {
+        fetchNanos.add(nanos);
+        latencyBuckets.incrementAndGet(bucket(nanos));
+    }
+
+    private static int bucket(final long nanos) {
+        return Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(1, nanos));
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 1, e.g. 0.99
+     * @return Upper bound of the histogram bucket holding the percentile, 0 if nothing has been fetched
+     */
+    public long getFetchLatencyPercentile(final double percentile, final TimeUnit unit) {
+        long total = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            total += latencyBuckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length(); i++) {
+            seen += latencyBuckets.get(i);
+            if (seen >= rank && latencyBuckets.get(i) > 0) {
+                long upperBound = i >= Long.SIZE - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+                return unit.convert(upperBound, TimeUnit.NANOSECONDS);
+            }
+        }
+        return unit.convert(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    public long getPagesFetched() {
+        return pagesFetched.sum();
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched.sum();
+    }
+
+    public double getAverageRowsPerPage() {
+        long pages = getPagesFetched();
+        return pages == 0 ? 0 : (double) getRowsFetched() / pages;
+    }
+
+    /**
+     * @return Rows fetched per second of time spent fetching, summed across threads
+     */
+    public double getRowsPerFetchSecond() {
+        long nanos = fetchNanos.sum();
+        return nanos == 0 ? 0 : getRowsFetched() / (nanos / 1e9);
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public int getPagesInFlight() {
+        return pagesInFlight.get();
+    }
+
+    public int getMaxPagesInFlight() {
+        return maxPagesInFlight.get();
+    }
+
+    public long getSplits() {
+        return splits.sum();
+    }
+
+    public long getFetchTime(final TimeUnit unit) {
+        return unit.convert(fetchNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Time fetches spent waiting for a {@link FetchLimiter}, summed across threads
+     */
+    public long getQueueTime(final TimeUnit unit) {
+        return unit.convert(queueNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    public long getMaxQueueTime(final TimeUnit unit) {
+        return unit.convert(maxQueueNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Time spent traversing that was not spent fetching on the traversing thread. When fetches run on
+     * another thread (read ahead, fetch executors) this is time spent consuming plus time waiting for pages.
+     */
+    public long getConsumerTime(final TimeUnit unit) {
+        return unit.convert(Math.max(0, traversalNanos.sum() - fetchNanos.sum()), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "PageFetchStats{"
+                + "pagesFetched=" + getPagesFetched()
+                + ", rowsFetched=" + getRowsFetched()
+                + ", failures=" + getFailures()
+                + ", maxPagesInFlight=" + getMaxPagesInFlight()
+                + ", splits=" + getSplits()
+                + ", p50Millis=" + getFetchLatencyPercentile(0.5, TimeUnit.MILLISECONDS)
+                + ", p99Millis=" + getFetchLatencyPercentile(0.99, TimeUnit.MILLISECONDS)
+                + ", queueMillis=" + getQueueTime(TimeUnit.MILLISECONDS)
+                + ", fetchMillis=" + getFetchTime(TimeUnit.MILLISECONDS)
+                + ", consumerMillis=" + getConsumerTime(TimeUnit.MILLISECONDS)
+                + '}';
+    }
+}
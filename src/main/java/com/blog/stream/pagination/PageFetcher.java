@@ -2,6 +2,7 @@ package com.blog.stream.pagination;
 
 import org.springframework.data.domain.Page;
 
-public interface PageFetcher<T> {
-    Page<T> fetch(final int offset, final int pageSize);
+public interface PageFetcher<T> extends SliceFetcher<T> {
+    @Override
+    Page<T> fetch(final long offset, final int pageSize);
 }
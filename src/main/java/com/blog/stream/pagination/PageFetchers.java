@@ -0,0 +1,124 @@
+package com.blog.stream.pagination;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Decorators adding behaviour to an existing {@link PageFetcher}.
+ */
+public final class PageFetchers {
+
+    /**
+     * Run every fetch on the given executor instead of the thread consuming the stream. In a parallel stream this
+     * keeps blocking queries off the common fork join pool and lets the executor decide how many fetches run at
+     * once, see {@link FetchExecutors}.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param executor Executor the fetches are run on
+     * @param <T>      Generic type returned by page fetched
+     * @return Page fetcher running on the executor
+     */
+    public static <T> PageFetcher<T> onExecutor(final PageFetcher<T> fetcher, final Executor executor) {
+        return new ExecutorPageFetcher<>(fetcher, executor);
+    }
+
+    /**
+     * Serve pages from the given cache, only calling the fetcher for pages not already held. Pages are keyed by the
+     * identity of the fetcher passed in here, so the same fetcher instance should be used for every pass over the
+     * result set.
+     *
+     * @param fetcher Interface for retrieving pages
+     * @param cache   Cache to hold the pages, may be shared between fetchers
+     * @param <T>     Generic type returned by page fetched
+     * @return Page fetcher reading through the cache
+     */
+    public static <T> PageFetcher<T> cached(final PageFetcher<T> fetcher, final PageCache cache) {
+        return new CachingPageFetcher<>(fetcher, cache);
+    }
+
+    /**
+     * Run every fetch on the given executor and, when a fetch runs past the given percentile of recent fetch
+     * latencies, start a duplicate fetch of the page and use whichever returns first. This trims the tail latency
+     * a few slow pages add to a parallel scan, at the cost of the extra queries. Fetches are not hedged until
+     * enough latencies have been seen to estimate the percentile.
+     * <p>
+     * Only suitable for fetchers that can safely be repeated, the executor needs spare threads for the duplicates.
+     *
+     * @param fetcher    Interface for retrieving pages
+     * @param executor   Executor the fetches and duplicates are run on
+     * @param percentile Percentile of recent latencies after which a fetch is duplicated, e.g. 0.95
+     * @param <T>        Generic type returned by page fetched
+     * @return Page fetcher hedging slow fetches
+     */
+    public static <T> PageFetcher<T> hedged(
+            final PageFetcher<T> fetcher, final Executor executor, final double percentile) {
+        return HedgedPageFetcher.create(fetcher, executor, percentile);
+    }
+
+    /**
+     * Make every fetch wait for the given limiter before it runs. Sharing one limiter between fetchers caps the
+     * load all of their streams together put on the database.
+     *
+     * @param fetcher Interface for retrieving pages
+     * @param limiter Limiter to wait for, may be shared between fetchers
+     * @param <T>     Generic type returned by page fetched
+     * @return Page fetcher waiting for the limiter
+     */
+    public static <T> PageFetcher<T> limited(final PageFetcher<T> fetcher, final FetchLimiter limiter) {
+        return limited(fetcher, limiter, new PageFetchListener() { });
+    }
+
+    /**
+     * As {@link #limited(PageFetcher, FetchLimiter)}, reporting how long each fetch waited to the listener.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param limiter  Limiter to wait for, may be shared between fetchers
+     * @param listener Listener notified of the time each fetch waited
+     * @param <T>      Generic type returned by page fetched
+     * @return Page fetcher waiting for the limiter
+     */
+    public static <T> PageFetcher<T> limited(
+            final PageFetcher<T> fetcher, final FetchLimiter limiter, final PageFetchListener listener) {
+        return new LimitedPageFetcher<>(fetcher, limiter, listener);
+    }
+
+    /**
+     * Report the start, latency and size of every fetch to the given listener, see {@link PageFetchStats}.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param listener Listener notified of each fetch
+     * @param <T>      Generic type returned by page fetched
+     * @return Page fetcher reporting to the listener
+     */
+    public static <T> PageFetcher<T> metered(final PageFetcher<T> fetcher, final PageFetchListener listener) {
+        return new MeteredPageFetcher<>(fetcher, listener);
+    }
+
+    /**
+     * Stop fetching once the cancellation is cancelled or its deadline has passed, interrupting fetches in flight
+     * when cancelled. Sharing one cancellation between fetchers cancels all of their streams together.
+     *
+     * @param fetcher      Interface for retrieving pages
+     * @param cancellation Cancellation to observe, may be shared between fetchers
+     * @param <T>          Generic type returned by page fetched
+     * @return Page fetcher failing with a CancellationException once cancelled
+     */
+    public static <T> PageFetcher<T> cancellable(final PageFetcher<T> fetcher, final FetchCancellation cancellation) {
+        return cancellation.cancellable(fetcher);
+    }
+
+    /**
+     * As {@link #cancellable(PageFetcher, FetchCancellation)} for fetchers of slices.
+     *
+     * @param fetcher      Interface for retrieving slices
+     * @param cancellation Cancellation to observe, may be shared between fetchers
+     * @param <T>          Generic type returned by slice fetched
+     * @return Slice fetcher failing with a CancellationException once cancelled
+     */
+    public static <T> SliceFetcher<T> cancellable(final SliceFetcher<T> fetcher, final FetchCancellation cancellation) {
+        return cancellation.cancellable(fetcher);
+    }
+
+    private PageFetchers() {
+
+    }
+}
@@ -0,0 +1,236 @@
+package com.blog.stream.pagination;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.data.domain.Page;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher emitting the elements of a paged result set in order. Pages are only fetched to cover demand signalled
+ * by the subscriber, with at most maxConcurrentFetches pages being fetched on the executor at once.
+ *
+ * Each subscriber gets its own independent pass over the result set.
+ */
+public class PagePublisher<T> implements Publisher<T> {
+
+    private final long firstPage;
+    private final int pageSize;
+    private final int maxConcurrentFetches;
+    private final PageFetcher<T> pageFetcher;
+    private final Executor executor;
+
+    PagePublisher(
+            final long firstPage,
+            final int pageSize,
+            final int maxConcurrentFetches,
+            final PageFetcher<T> pageFetcher,
+            final Executor executor) {
+        this.firstPage = firstPage;
+        this.pageSize = pageSize;
+        this.maxConcurrentFetches = maxConcurrentFetches;
+        this.pageFetcher = pageFetcher;
+        this.executor = executor;
+    }
+
+    static <R> PagePublisher<R> create(
+            final int pageSize,
+            final int maxConcurrentFetches,
+            final PageFetcher<R> pageFetcher,
+            final Executor executor) {
+        return new PagePublisher<>(0, pageSize, maxConcurrentFetches, pageFetcher, executor);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber must not be null");
+        }
+        subscriber.onSubscribe(new PageSubscription<>(this, subscriber));
+    }
+
+    /**
+     * All signals to the subscriber are made from the drain loop, which only ever runs on one thread at a time.
+     * Request, cancel and page completion just record what happened and then try to enter the loop.
+     */
+    static class PageSubscription<T> implements Subscription {
+
+        private final PagePublisher<T> publisher;
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final Map<Long, CompletableFuture<Page<T>>> inFlight = new HashMap<>();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        private boolean done;
+        private long nextPageToFetch;
+        private long nextPageToEmit;
+        private long totalNumberOfPages = -1;
+        private Iterator<T> current;
+        private int remainingInCurrent;
+
+        PageSubscription(final PagePublisher<T> publisher, final Subscriber<? super T> subscriber) {
+            this.publisher = publisher;
+            this.subscriber = subscriber;
+            this.nextPageToFetch = publisher.firstPage;
+            this.nextPageToEmit = publisher.firstPage;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Request must be positive, was " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> {
+                    long total = current + added;
+                    return total < 0 ? Long.MAX_VALUE : total;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (!done) {
+                    emit();
+                }
+                if (done) {
+                    release();
+                } else {
+                    fetch();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            long demand = requested.get();
+            long emitted = 0;
+
+            while (true) {
+                if (cancelled) {
+                    done = true;
+                    return;
+                }
+
+                if (invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+
+                if (remainingInCurrent == 0 && !advancePage()) {
+                    break;
+                }
+
+                if (remainingInCurrent == 0) {
+                    continue;
+                }
+
+                if (emitted == demand) {
+                    break;
+                }
+
+                remainingInCurrent--;
+                subscriber.onNext(current.next());
+                emitted++;
+            }
+
+            if (emitted != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        /**
+         * Move on to the next page if it has arrived.
+         *
+         * @return false when there is nothing more to emit until another page completes
+         */
+        private boolean advancePage() {
+            current = null;
+
+            if (totalNumberOfPages >= 0 && nextPageToEmit >= totalNumberOfPages) {
+                done = true;
+                subscriber.onComplete();
+                return false;
+            }
+
+            CompletableFuture<Page<T>> next = inFlight.get(nextPageToEmit);
+            if (next == null || !next.isDone()) {
+                return false;
+            }
+
+            Page<T> page;
+            try {
+                page = inFlight.remove(nextPageToEmit).join();
+            } catch (CompletionException e) {
+                terminate(e.getCause());
+                return false;
+            }
+
+            nextPageToEmit++;
+            totalNumberOfPages = (page.getTotalElements() + publisher.pageSize - 1) / publisher.pageSize;
+            current = page.iterator();
+            remainingInCurrent = page.getNumberOfElements();
+            return true;
+        }
+
+        /**
+         * Start enough page fetches to cover the outstanding demand not already covered by buffered or in flight
+         * pages. Until the first page returns the number of pages is unknown, so only one page is fetched.
+         */
+        private void fetch() {
+            long outstanding = requested.get() - remainingInCurrent - (long) inFlight.size() * publisher.pageSize;
+
+            while (outstanding > 0
+                    && inFlight.size() < publisher.maxConcurrentFetches
+                    && hasPageToFetch()) {
+                long pageNumber = nextPageToFetch++;
+                CompletableFuture<Page<T>> page = CompletableFuture.supplyAsync(
+                        () -> publisher.pageFetcher.fetch(pageNumber, publisher.pageSize), publisher.executor);
+                inFlight.put(pageNumber, page);
+                page.whenComplete((result, error) -> drain());
+                outstanding -= publisher.pageSize;
+            }
+        }
+
+        private boolean hasPageToFetch() {
+            if (totalNumberOfPages < 0) {
+                return nextPageToFetch == publisher.firstPage;
+            }
+            return nextPageToFetch < totalNumberOfPages;
+        }
+
+        private void terminate(final Throwable error) {
+            done = true;
+            subscriber.onError(error);
+        }
+
+        private void release() {
+            inFlight.values().forEach(page -> page.cancel(true));
+            inFlight.clear();
+            current = null;
+            remainingInCurrent = 0;
+        }
+    }
+}
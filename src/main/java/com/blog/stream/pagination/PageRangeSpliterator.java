@@ -0,0 +1,106 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.List;
+import java.util.Spliterator;
+
+public class PageRangeSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int PAGE_RANGE_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED | SUBSIZED | CONCURRENT;
+
+    private long startPage;
+    private final long endPage;
+    private final long count;
+    private final int pageSize;
+    private final SliceFetcher<T> pageFetcher;
+
+    @VisibleForTesting
+    PageRangeSpliterator(
+            final long startPage,
+            final long endPage,
+            final long count,
+            final int pageSize,
+            final SliceFetcher<T> pageFetcher) {
+        this.startPage = startPage;
+        this.endPage = endPage;
+        this.count = count;
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+    }
+
+    static <R> PageRangeSpliterator<R> create(final long count, final int pageSize, final SliceFetcher<R> pageFetcher) {
+        long numberOfPages = (count + pageSize - 1) / pageSize;
+        return new PageRangeSpliterator<>(0, numberOfPages, count, pageSize, pageFetcher);
+    }
+
+    @Override
+    List<T> nextPage() {
+        if (startPage >= endPage) {
+            return null;
+        }
+
+        return pageFetcher.fetch(startPage++, pageSize).getContent();
+    }
+
+    /**
+     * Split the range of pages in half, the child taking the first half and this spliterator keeping the second.
+     *
+     * If the stream is run in parallel the spliterator will be split as below
+     * (4 queries for a given pageSize/count, top row is page number)
+     * |   0    |   1    |   2    |   3    |
+     * |              Parent               |  No Splits
+     * |      Child      |     Parent      |  First Split
+     * | Child  | Child  | Child  | Parent |  Second Splits
+     *                                        No more splits (return null)
+     *
+     * A scan over N pages is therefore split O(log N) deep and each worker is handed a similar share of pages.
+     * @return Child spliterator over the first half of the remaining pages.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return trySplit(1);
+    }
+
+    /**
+     * As {@link #trySplit()}, but only splitting a whole number of steps after the first remaining page, the half
+     * being rounded down to whole steps. A range which starts on a step boundary therefore only splits on step
+     * boundaries, and is not split while it holds fewer than two steps.
+     *
+     * @param pagesPerStep Number of pages in each step
+     * @return Child spliterator over the first half of the remaining steps.
+     */
+    PageRangeSpliterator<T> trySplit(final long pagesPerStep) {
+        long halfPages = (endPage - startPage) / 2 / pagesPerStep * pagesPerStep;
+        if (isPartwayThroughPage() || halfPages == 0) {
+            return null;
+        }
+
+        long midPage = startPage + halfPages;
+        PageRangeSpliterator<T> childSpliterator =
+                new PageRangeSpliterator<>(startPage, midPage, count, pageSize, pageFetcher);
+        this.startPage = midPage;
+        return childSpliterator;
+    }
+
+    @Override
+    public long estimateSize() {
+        long firstElement = startPage * pageSize;
+        long lastElement = Math.min(endPage * pageSize, count);
+        return Math.max(0, lastElement - firstElement);
+    }
+
+    @Override
+    public int characteristics() {
+        return PAGE_RANGE_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    @VisibleForTesting
+    long getStartPage() {
+        return startPage;
+    }
+
+    @VisibleForTesting
+    long getEndPage() {
+        return endPage;
+    }
+}
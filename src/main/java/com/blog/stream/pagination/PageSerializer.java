@@ -0,0 +1,16 @@
+package com.blog.stream.pagination;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Serializes a whole page at a time for a {@link PageExporter}. Called concurrently from the exporting workers,
+ * each call with its own output, so implementations should hold any reusable state (e.g. a configured Jackson
+ * ObjectWriter) rather than build it per call, and must not close the output.
+ */
+@FunctionalInterface
+public interface PageSerializer<T> {
+
+    void write(final List<T> page, final OutputStream output) throws IOException;
+}
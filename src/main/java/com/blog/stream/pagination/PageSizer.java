@@ -0,0 +1,30 @@
+package com.blog.stream.pagination;
+
+/**
+ * Decides the size of each page requested by a spliterator. Implementations may keep state, so each spliterator
+ * holds its own instance.
+ */
+interface PageSizer {
+
+    int nextPageSize();
+
+    /**
+     * @param pageSize   Size the page was requested with
+     * @param rows       Number of rows the page contained
+     * @param fetchNanos Time taken to fetch the page
+     */
+    void record(final int pageSize, final int rows, final long fetchNanos);
+
+    static PageSizer fixed(final int pageSize) {
+        return new PageSizer() {
+            @Override
+            public int nextPageSize() {
+                return pageSize;
+            }
+
+            @Override
+            public void record(final int requested, final int rows, final long fetchNanos) {
+            }
+        };
+    }
+}
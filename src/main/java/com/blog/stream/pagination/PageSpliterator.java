@@ -3,22 +3,23 @@ package com.blog.stream.pagination;
 import com.google.common.annotations.VisibleForTesting;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
 import java.util.Spliterator;
-import java.util.function.Consumer;
 
-public class PageSpliterator<T> implements Spliterator<T> {
+public class PageSpliterator<T> extends BufferedPageSpliterator<T> {
 
     static final int PAGED_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED | SUBSIZED | CONCURRENT;
 
-    private int pageNumber;
-    private final int count;
+    private long pageNumber;
+    private boolean finished;
+    private final long count;
     private final int pageSize;
     private final PageFetcher<T> pageFetcher;
 
     @VisibleForTesting
     PageSpliterator(
-            final int pageNumber,
-            final int count,
+            final long pageNumber,
+            final long count,
             final int pageSize,
             final PageFetcher<T> pageFetcher) {
         this.pageNumber = pageNumber;
@@ -27,18 +28,22 @@ public class PageSpliterator<T> implements Spliterator<T> {
         this.pageFetcher = pageFetcher;
     }
 
-    static <R> PageSpliterator<R> create(final int count, final int pageSize, final PageFetcher<R> pageFetcher) {
+    static <R> PageSpliterator<R> create(final long count, final int pageSize, final PageFetcher<R> pageFetcher) {
         return new PageSpliterator<>(0, count, pageSize, pageFetcher);
     }
 
     @Override
-    public boolean tryAdvance(final Consumer<? super T> action) {
+    List<T> nextPage() {
+        if (finished) {
+            return null;
+        }
+
         Page<T> page = pageFetcher.fetch(pageNumber, pageSize);
-        page.forEach(action);
 
         //in parallel mode this section will always be run on the last page
         pageNumber++;
-        return !page.isLast();
+        finished = page.isLast();
+        return page.getContent();
     }
 
     /**
@@ -58,7 +63,7 @@ public class PageSpliterator<T> implements Spliterator<T> {
      */
     @Override
     public Spliterator<T> trySplit() {
-        if (pageSize * (pageNumber + 1) >= count) {
+        if (isPartwayThroughPage() || (pageNumber + 1) * pageSize >= count) {
             return null;
         }
 
@@ -78,19 +83,20 @@ public class PageSpliterator<T> implements Spliterator<T> {
     }
 
     @VisibleForTesting
-    int getPageNumber() {
+    long getPageNumber() {
         return pageNumber;
     }
 
     @VisibleForTesting
-    static class ChildPageSpliterator<T> implements Spliterator<T> {
+    static class ChildPageSpliterator<T> extends BufferedPageSpliterator<T> {
 
-        private final int pageNumber;
+        private boolean fetched;
+        private final long pageNumber;
         private final int pageSize;
         private final PageFetcher<T> pageFetcher;
 
         private ChildPageSpliterator(
-                final int pageNumber,
+                final long pageNumber,
                 final int pageSize,
                 final PageFetcher<T> pageFetcher) {
             this.pageNumber = pageNumber;
@@ -99,10 +105,13 @@ public class PageSpliterator<T> implements Spliterator<T> {
         }
 
         @Override
-        public boolean tryAdvance(final Consumer<? super T> action) {
-            Page<T> page = pageFetcher.fetch(pageNumber, pageSize);
-            page.forEach(action);
-            return false;
+        List<T> nextPage() {
+            if (fetched) {
+                return null;
+            }
+
+            fetched = true;
+            return pageFetcher.fetch(pageNumber, pageSize).getContent();
         }
 
         @Override
@@ -121,7 +130,7 @@ public class PageSpliterator<T> implements Spliterator<T> {
         }
 
         @VisibleForTesting
-        int getPageNumber() {
+        long getPageNumber() {
             return pageNumber;
         }
     }
@@ -3,11 +3,11 @@ package com.blog.stream.pagination;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Spliterator;
-import java.util.function.Consumer;
 import java.util.function.Function;
 
-public class PageableSpliterator<T> implements Spliterator<T> {
+public class PageableSpliterator<T> extends BufferedPageSpliterator<T> {
 
     static final int PAGED_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED | SUBSIZED | CONCURRENT;
 
@@ -18,6 +18,10 @@ public class PageableSpliterator<T> implements Spliterator<T> {
     private final Function<Pageable, Page<T>> pageFetcher;
     private       Pageable                    pageable;
     private       Page<T>                     preFetchedPage;
+    private       boolean                     hasPrefetched;
+    private       long                        totalNumberOfElements;
+    private       int                         totalNumberOfPages;
+    private       boolean                     finished;
 
     PageableSpliterator(
             final Pageable pageable,
@@ -26,32 +30,47 @@ public class PageableSpliterator<T> implements Spliterator<T> {
         this.pageFetcher = pageFetcher;
     }
 
+    /**
+     * The prefetched page, if still held, is always the page for the current pageable, so it is consumed rather
+     * than queried a second time.
+     */
     @Override
-    public boolean tryAdvance(final Consumer<? super T> action) {
-        Page<T> page = pageFetcher.apply(pageable);
-        page.forEach(action);
+    List<T> nextPage() {
+        if (finished || (hasPrefetched && pageable.getPageNumber() >= totalNumberOfPages)) {
+            return null;
+        }
+
+        Page<T> page = preFetchedPage != null ? preFetchedPage : pageFetcher.apply(pageable);
+        preFetchedPage = null;
 
         //in parallel mode this section will always be run on the last page
         if (page.hasNext()) {
             pageable = pageable.next();
-            return true;
+        } else {
+            finished = true;
         }
-        return false;
+        return page.getContent();
     }
 
     @Override
     public Spliterator<T> trySplit() {
-        if (preFetchedPage == null) {
+        if (isPartwayThroughPage() || finished) {
+            return null;
+        }
+
+        if (!hasPrefetched) {
             prefetchPage();
         }
 
-        if (pageable.getPageNumber() + 1 >= preFetchedPage.getTotalPages()) {
+        if (pageable.getPageNumber() + 1 >= totalNumberOfPages) {
             return null;
         }
 
-        if (pageable.getPageNumber() == 0) {
+        if (preFetchedPage != null) {
+            PreFetchedChildPageSpliterator<T> childSpliterator = new PreFetchedChildPageSpliterator<>(preFetchedPage);
+            preFetchedPage = null;
             pageable = pageable.next();
-            return new PreFetchedChildPageSpliterator<>(preFetchedPage);
+            return childSpliterator;
         }
 
         ChildPageSpliterator<T> childSpliterator = new ChildPageSpliterator<>(pageable, pageFetcher);
@@ -61,11 +80,11 @@ public class PageableSpliterator<T> implements Spliterator<T> {
 
     @Override
     public long estimateSize() {
-        if (preFetchedPage == null) {
+        if (!hasPrefetched) {
             prefetchPage();
         }
 
-        return preFetchedPage.getTotalElements();
+        return totalNumberOfElements;
     }
 
     @Override
@@ -74,13 +93,17 @@ public class PageableSpliterator<T> implements Spliterator<T> {
     }
 
     private void prefetchPage() {
-        preFetchedPage = pageFetcher.apply(pageable);
+        preFetchedPage        = pageFetcher.apply(pageable);
+        totalNumberOfElements = preFetchedPage.getTotalElements();
+        totalNumberOfPages    = preFetchedPage.getTotalPages();
+        hasPrefetched         = true;
     }
 
-    static class ChildPageSpliterator<T> implements Spliterator<T> {
+    static class ChildPageSpliterator<T> extends BufferedPageSpliterator<T> {
 
         private final Pageable                    pageable;
         private final Function<Pageable, Page<T>> pageFetcher;
+        private       boolean                     fetched;
 
         private ChildPageSpliterator(
                 final Pageable pageable,
@@ -90,10 +113,13 @@ public class PageableSpliterator<T> implements Spliterator<T> {
         }
 
         @Override
-        public boolean tryAdvance(final Consumer<? super T> action) {
-            Page<T> page = pageFetcher.apply(pageable);
-            page.forEach(action);
-            return false;
+        List<T> nextPage() {
+            if (fetched) {
+                return null;
+            }
+
+            fetched = true;
+            return pageFetcher.apply(pageable).getContent();
         }
 
         @Override
@@ -113,19 +139,25 @@ public class PageableSpliterator<T> implements Spliterator<T> {
 
     }
 
-    static class PreFetchedChildPageSpliterator<T> implements Spliterator<T> {
+    static class PreFetchedChildPageSpliterator<T> extends BufferedPageSpliterator<T> {
 
-        private final Page<T> page;
+        private final int     pageSize;
+        private       Page<T> page;
 
         PreFetchedChildPageSpliterator(final Page<T> page) {
-            this.page = page;
+            this.page     = page;
+            this.pageSize = page.getPageable().getPageSize();
         }
 
-
         @Override
-        public boolean tryAdvance(final Consumer<? super T> action) {
-            page.forEach(action);
-            return false;
+        List<T> nextPage() {
+            if (page == null) {
+                return null;
+            }
+
+            List<T> content = page.getContent();
+            page = null;
+            return content;
         }
 
         @Override
@@ -135,7 +167,7 @@ public class PageableSpliterator<T> implements Spliterator<T> {
 
         @Override
         public long estimateSize() {
-            return page.getPageable().getPageSize();
+            return pageSize;
         }
 
         @Override
@@ -0,0 +1,354 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.ProjectionInformation;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Paged JPA query which pushes filtering and projection into the database rather than the stream. Filters given as
+ * {@link Specification}s become the query's where clause and a projection selects only the columns it needs, so
+ * a filtered, projected scan only reads the matching rows and columns instead of every full entity.
+ * <pre>
+ * PagedQuery.from(entityManager, User.class)
+ *         .where((user, query, cb) -&gt; cb.greaterThan(user.get("dateOfBirth"), cutOff))
+ *         .select(UserName.class)
+ *         .stream(100)
+ * </pre>
+ * Queries are immutable, every method returns a new query. Pages are read by offset in the query's sort order, or
+ * by id when no sort is given so pages stay stable across the fetches of a parallel stream. The entity manager must
+ * be safe to share between threads, such as the shared entity manager Spring injects.
+ *
+ * @param <T> Entity type queried
+ * @param <R> Type of the rows returned, the entity itself unless a projection is selected
+ */
+public final class PagedQuery<T, R> implements PageFetcher<R> {
+
+    private static final ProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private final EntityManager entityManager;
+    private final Class<T> domainClass;
+    private final Specification<T> specification;
+    private final Sort sort;
+    private final Projection<T, ?, R> projection;
+
+    private PagedQuery(
+            final EntityManager entityManager,
+            final Class<T> domainClass,
+            final Specification<T> specification,
+            final Sort sort,
+            final Projection<T, ?, R> projection) {
+        this.entityManager = entityManager;
+        this.domainClass = domainClass;
+        this.specification = specification;
+        this.sort = sort;
+        this.projection = projection;
+    }
+
+    /**
+     * @param entityManager Entity manager to run the queries with, must be safe to use from the stream's threads
+     * @param domainClass   Entity to query
+     * @param <T>           Entity type queried
+     * @return Query over every entity of the given type
+     */
+    public static <T> PagedQuery<T, T> from(final EntityManager entityManager, final Class<T> domainClass) {
+        Sort byId = Sort.by(JpaEntityInformationSupport.getEntityInformation(domainClass, entityManager)
+                .getRequiredIdAttribute()
+                .getName());
+        return new PagedQuery<>(entityManager, domainClass, null, byId, new EntityProjection<>(domainClass));
+    }
+
+    /**
+     * @param specification Filter to add to the query's where clause, combined with existing filters by and
+     * @return Query only returning rows matching the specification
+     */
+    public PagedQuery<T, R> where(final Specification<T> specification) {
+        Specification<T> combined = this.specification == null
+                ? Specification.where(specification)
+                : this.specification.and(specification);
+        return new PagedQuery<>(entityManager, domainClass, combined, sort, projection);
+    }
+
+    /**
+     * @param sort Order to page through the rows in, should be unique so no rows are skipped or repeated between
+     *             pages
+     * @return Query returning rows in the given order
+     */
+    public PagedQuery<T, R> orderBy(final Sort sort) {
+        if (sort.isUnsorted()) {
+            throw new IllegalArgumentException("Paged queries need an order to page through");
+        }
+        return new PagedQuery<>(entityManager, domainClass, specification, sort, projection);
+    }
+
+    /**
+     * Select an interface projection. Closed projections, whose getters all map to entity attributes, only query
+     * those attributes. Open projections using {@code @Value} expressions need the whole entity to evaluate against,
+     * so still load it.
+     *
+     * @param projectionType Interface whose getters name the entity attributes to select
+     * @param <P>            Projection type returned
+     * @return Query returning the projection
+     */
+    public <P> PagedQuery<T, P> select(final Class<P> projectionType) {
+        if (!projectionType.isInterface()) {
+            throw new IllegalArgumentException(
+                    projectionType.getName() + " is not an interface, give the attributes for its constructor");
+        }
+        ProjectionInformation information = PROJECTION_FACTORY.getProjectionInformation(projectionType);
+        Projection<T, ?, P> selected = information.isClosed()
+                ? new ClosedInterfaceProjection<>(projectionType, information.getInputProperties().stream()
+                        .map(PropertyDescriptor::getName)
+                        .collect(toList()))
+                : new OpenInterfaceProjection<>(domainClass, projectionType);
+        return new PagedQuery<>(entityManager, domainClass, specification, sort, selected);
+    }
+
+    /**
+     * Select a DTO built from the given attributes through its constructor.
+     *
+     * @param dtoType    Class with a public constructor taking the attributes in the order given
+     * @param attributes Entity attributes passed to the constructor, nested attributes can be given as paths
+     *                   e.g. "address.city"
+     * @param <P>        DTO type returned
+     * @return Query returning the DTO
+     */
+    public <P> PagedQuery<T, P> select(final Class<P> dtoType, final String... attributes) {
+        if (attributes.length == 0) {
+            throw new IllegalArgumentException("At least one attribute has to be selected for " + dtoType.getName());
+        }
+        return new PagedQuery<>(entityManager, domainClass, specification, sort,
+                new ConstructorProjection<>(dtoType, Arrays.asList(attributes)));
+    }
+
+    /**
+     * @return Number of rows matching the query's filters
+     */
+    public long count() {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        applySpecification(query, root, builder);
+        query.select(query.isDistinct() ? builder.countDistinct(root) : builder.count(root));
+        query.orderBy(Collections.emptyList());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Fetch a page of the matching rows. Unless the page is short the count query is also run for the page's
+     * total, prefer {@link #stream(int)} to read many pages.
+     */
+    @Override
+    public Page<R> fetch(final long pageNumber, final int pageSize) {
+        PageRequest pageable = PageRequest.of(Math.toIntExact(pageNumber), pageSize, sort);
+        return PageableExecutionUtils.getPage(fetchContent(projection, pageable), pageable, this::count);
+    }
+
+    /**
+     * Stream over the matching rows, see {@link PaginationUtils#pagedStream(PageFetcher, int, LongSupplier)}. The
+     * count query is run once, when the stream's terminal operation starts, and its total is reused by every page.
+     *
+     * @param pageSize Size of pages to be queries
+     * @return Stream of the query's rows
+     */
+    public Stream<R> stream(final int pageSize) {
+        AtomicLong total = new AtomicLong();
+        PageFetcher<R> fetcher = (pageNumber, size) -> {
+            PageRequest pageable = PageRequest.of(Math.toIntExact(pageNumber), size, sort);
+            return new PageImpl<>(fetchContent(projection, pageable), pageable, total.get());
+        };
+        LongSupplier count = () -> {
+            total.set(count());
+            return total.get();
+        };
+        return PaginationUtils.pagedStream(fetcher, pageSize, count);
+    }
+
+    private <Q> List<R> fetchContent(final Projection<T, Q, R> projection, final Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Q> query = builder.createQuery(projection.queryType());
+        Root<T> root = query.from(domainClass);
+        applySpecification(query, root, builder);
+        projection.select(query, root, builder);
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList()
+                .stream()
+                .map(projection::map)
+                .collect(toList());
+    }
+
+    private void applySpecification(final CriteriaQuery<?> query, final Root<T> root, final CriteriaBuilder builder) {
+        if (specification == null) {
+            return;
+        }
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private static Path<?> path(final Root<?> root, final String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    /**
+     * What a query selects, of type Q, and how a selected row is turned into the type R returned.
+     */
+    private interface Projection<T, Q, R> {
+
+        Class<Q> queryType();
+
+        void select(CriteriaQuery<Q> query, Root<T> root, CriteriaBuilder builder);
+
+        R map(Q row);
+    }
+
+    private static final class EntityProjection<T> implements Projection<T, T, T> {
+
+        private final Class<T> domainClass;
+
+        private EntityProjection(final Class<T> domainClass) {
+            this.domainClass = domainClass;
+        }
+
+        @Override
+        public Class<T> queryType() {
+            return domainClass;
+        }
+
+        @Override
+        public void select(final CriteriaQuery<T> query, final Root<T> root, final CriteriaBuilder builder) {
+            query.select(root);
+        }
+
+        @Override
+        public T map(final T row) {
+            return row;
+        }
+    }
+
+    private static final class OpenInterfaceProjection<T, P> implements Projection<T, T, P> {
+
+        private final Class<T> domainClass;
+        private final Class<P> projectionType;
+
+        private OpenInterfaceProjection(final Class<T> domainClass, final Class<P> projectionType) {
+            this.domainClass = domainClass;
+            this.projectionType = projectionType;
+        }
+
+        @Override
+        public Class<T> queryType() {
+            return domainClass;
+        }
+
+        @Override
+        public void select(final CriteriaQuery<T> query, final Root<T> root, final CriteriaBuilder builder) {
+            query.select(root);
+        }
+
+        @Override
+        public P map(final T row) {
+            return PROJECTION_FACTORY.createProjection(projectionType, row);
+        }
+    }
+
+    private static final class ClosedInterfaceProjection<T, P> implements Projection<T, Tuple, P> {
+
+        private final Class<P> projectionType;
+        private final List<String> attributes;
+
+        private ClosedInterfaceProjection(final Class<P> projectionType, final List<String> attributes) {
+            this.projectionType = projectionType;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public Class<Tuple> queryType() {
+            return Tuple.class;
+        }
+
+        @Override
+        public void select(final CriteriaQuery<Tuple> query, final Root<T> root, final CriteriaBuilder builder) {
+            List<Selection<?>> selections = attributes.stream()
+                    .map(attribute -> path(root, attribute).alias(attribute))
+                    .collect(toList());
+            query.multiselect(selections);
+        }
+
+        @Override
+        public P map(final Tuple row) {
+            Map<String, Object> values = new HashMap<>();
+            for (TupleElement<?> element : row.getElements()) {
+                values.put(element.getAlias(), row.get(element));
+            }
+            return PROJECTION_FACTORY.createProjection(projectionType, values);
+        }
+    }
+
+    private static final class ConstructorProjection<T, P> implements Projection<T, P, P> {
+
+        private final Class<P> dtoType;
+        private final List<String> attributes;
+
+        private ConstructorProjection(final Class<P> dtoType, final List<String> attributes) {
+            this.dtoType = dtoType;
+            this.attributes = attributes;
+        }
+
+        @Override
+        public Class<P> queryType() {
+            return dtoType;
+        }
+
+        @Override
+        public void select(final CriteriaQuery<P> query, final Root<T> root, final CriteriaBuilder builder) {
+            Selection<?>[] selections = attributes.stream()
+                    .map(attribute -> path(root, attribute))
+                    .toArray(Selection<?>[]::new);
+            query.select(builder.construct(dtoType, selections));
+        }
+
+        @Override
+        public P map(final P row) {
+            return row;
+        }
+    }
+}
@@ -1,15 +1,34 @@
 package com.blog.stream.pagination;
 
+import org.reactivestreams.Publisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static com.blog.stream.pagination.ChunkingSpliterator.CHUNKING_SPLITERATOR_CHARACTERISTICS;
+import static com.blog.stream.pagination.KeyRangeSpliterator.KEY_RANGE_SPLITERATOR_CHARACTERISTICS;
+import static com.blog.stream.pagination.PageRangeSpliterator.PAGE_RANGE_SPLITERATOR_CHARACTERISTICS;
 import static com.blog.stream.pagination.PageSpliterator.PAGED_SPLITERATOR_CHARACTERISTICS;
 
+/**
+ * Entry points creating lazily loaded streams over paginated queries.
+ *
+ * Every stream is closeable: closing it, directly or through try-with-resources, stops any further page being
+ * fetched, interrupts fetches in flight and releases pages buffered ahead of the consumer, see
+ * {@link FetchCancellation}. A stream abandoned part way, e.g. by a request timing out, should be closed so it
+ * stops holding database connections. For a deadline, decorate the fetcher with
+ * {@link PageFetchers#cancellable(PageFetcher, FetchCancellation)}.
+ */
 public final class PaginationUtils {
     /**
      * Create lazily loaded stream for paginated queries. Stream type returned is sequential by default
@@ -21,9 +40,51 @@ public final class PaginationUtils {
      * @param <T>      Generic type returned by page fetched
      * @return Stream of generic type T
      */
-    public static <T> Stream<T> pagedStream(final PageFetcher<T> fetcher, final int pageSize, final int count) {
-        PageSpliterator<T> spliterator = PageSpliterator.create(count, pageSize, fetcher);
-        return StreamSupport.stream(spliterator, false);
+    public static <T> Stream<T> pagedStream(final PageFetcher<T> fetcher, final int pageSize, final long count) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageSpliterator<T> spliterator = PageSpliterator.create(count, pageSize, cancellation.cancellable(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Create lazily loaded stream for paginated queries whose pages are fetched on the given executor.
+     * <p>
+     * When run in parallel the stream's workers wait for their pages without occupying the common fork join pool,
+     * so fetch concurrency is set by the executor independently of CPU parallelism, see {@link FetchExecutors}.
+     *
+     * @param fetcher       Interface for retrieving pages
+     * @param pageSize      Size of pages to be queries
+     * @param count         Overall size of result set, must be pre calculated
+     * @param fetchExecutor Executor the pages are fetched on
+     * @param <T>           Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> pagedStream(
+            final PageFetcher<T> fetcher, final int pageSize, final long count, final Executor fetchExecutor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        return pagedStream(PageFetchers.onExecutor(cancellation.cancellable(fetcher), fetchExecutor), pageSize, count)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Create lazily loaded stream for paginated queries reporting fetches, splits and traversal time to the
+     * listener, see {@link PageFetchStats}.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param pageSize Size of pages to be queries
+     * @param count    Overall size of result set, must be pre calculated
+     * @param listener Listener notified of the stream's fetches, splits and traversal
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> pagedStream(
+            final PageFetcher<T> fetcher, final int pageSize, final long count, final PageFetchListener listener) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageSpliterator<T> spliterator = PageSpliterator.create(
+                count, pageSize, PageFetchers.metered(cancellation.cancellable(fetcher), listener));
+        return StreamSupport.stream(new MeteredSpliterator<>(spliterator, listener), false)
+                .onClose(cancellation::cancel);
     }
 
     /**
@@ -38,12 +99,276 @@ public final class PaginationUtils {
      * @param <T>           Generic type returned by page fetched
      * @return Stream of generic type T
      */
+    public static <T> Stream<T> pagedStream(
+            final PageFetcher<T> fetcher, final int pageSize, final LongSupplier countSupplier) {
+
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageFetcher<T> cancellableFetcher = cancellation.cancellable(fetcher);
+        Supplier<PageSpliterator<T>> spliterator =
+                () -> PageSpliterator.create(countSupplier.getAsLong(), pageSize, cancellableFetcher);
+
+        return StreamSupport.stream(spliterator, PAGED_SPLITERATOR_CHARACTERISTICS, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * @deprecated counts are limited to int, use {@link #pagedStream(PageFetcher, int, LongSupplier)}
+     */
+    @Deprecated
     public static <T> Stream<T> pagedStream(
             final PageFetcher<T> fetcher, final int pageSize, final Supplier<Integer> countSupplier) {
+        return pagedStream(fetcher, pageSize, (LongSupplier) countSupplier::get);
+    }
+
+    /**
+     * Create lazily loaded stream for paginated queries which, when run in parallel, splits the pages by halving
+     * the remaining range rather than peeling off one page at a time. A scan over N pages needs O(log N) splits
+     * and work is spread evenly across workers.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param pageSize Size of pages to be queries
+     * @param count    Overall size of result set, must be pre calculated
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> balancedPagedStream(final PageFetcher<T> fetcher, final int pageSize, final long count) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageRangeSpliterator<T> spliterator =
+                PageRangeSpliterator.create(count, pageSize, cancellation.cancellable(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * To be used when calculation of count wants to be lazily evaluated.
+     * <p>
+     * Create lazily loaded stream for paginated queries which splits by halving the remaining range of pages.
+     *
+     * @param fetcher       Interface for retrieving pages
+     * @param pageSize      Size of pages to be queries
+     * @param countSupplier Method of obtaining count, will be lazily evaluated
+     * @param <T>           Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> balancedPagedStream(
+            final PageFetcher<T> fetcher, final int pageSize, final LongSupplier countSupplier) {
 
-        Supplier<PageSpliterator<T>> spliterator = () -> PageSpliterator.create(countSupplier.get(), pageSize, fetcher);
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageFetcher<T> cancellableFetcher = cancellation.cancellable(fetcher);
+        Supplier<PageRangeSpliterator<T>> spliterator =
+                () -> PageRangeSpliterator.create(countSupplier.getAsLong(), pageSize, cancellableFetcher);
 
-        return StreamSupport.stream(spliterator, PAGED_SPLITERATOR_CHARACTERISTICS, false);
+        return StreamSupport.stream(spliterator, PAGE_RANGE_SPLITERATOR_CHARACTERISTICS, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Create lazily loaded stream over slices, for fetchers which do not run a count query alongside every page
+     * (e.g. Spring Data repository methods returning {@link org.springframework.data.domain.Slice}).
+     * Splits by halving the remaining range of pages when run in parallel.
+     *
+     * @param fetcher  Interface for retrieving slices
+     * @param pageSize Size of pages to be queries
+     * @param count    Overall size of result set, must be pre calculated
+     * @param <T>      Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> slicedStream(final SliceFetcher<T> fetcher, final int pageSize, final long count) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageRangeSpliterator<T> spliterator =
+                PageRangeSpliterator.create(count, pageSize, cancellation.cancellable(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * To be used when calculation of count wants to be lazily evaluated.
+     * <p>
+     * Create lazily loaded stream over slices, the count is obtained once per stream on the terminal operation
+     * rather than once per page.
+     *
+     * @param fetcher       Interface for retrieving slices
+     * @param pageSize      Size of pages to be queries
+     * @param countSupplier Method of obtaining count, will be lazily evaluated
+     * @param <T>           Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> slicedStream(
+            final SliceFetcher<T> fetcher, final int pageSize, final LongSupplier countSupplier) {
+
+        FetchCancellation cancellation = FetchCancellation.create();
+        SliceFetcher<T> cancellableFetcher = cancellation.cancellable(fetcher);
+        Supplier<PageRangeSpliterator<T>> spliterator =
+                () -> PageRangeSpliterator.create(countSupplier.getAsLong(), pageSize, cancellableFetcher);
+
+        return StreamSupport.stream(spliterator, PAGE_RANGE_SPLITERATOR_CHARACTERISTICS, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream which, when its terminal operation starts, runs the count and the fetches of the first pages
+     * concurrently on the executor, so the first elements are not held up behind the count. Consumed sequentially
+     * the first page's elements are emitted as soon as it arrives. Run in parallel the stream waits for the count
+     * before splitting, the first pages still being fetched alongside it, see {@link EagerPageSpliterator}.
+     * <p>
+     * The stream is not SIZED. Closing the stream cancels any of the count and first page fetches not yet used.
+     *
+     * @param fetcher       Interface for retrieving slices
+     * @param pageSize      Size of pages to be queries
+     * @param countSupplier Method of obtaining count, run on the executor
+     * @param executor      Executor the count and first pages are fetched on
+     * @param firstPages    Number of pages to fetch alongside the count
+     * @param <T>           Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> eagerPagedStream(
+            final SliceFetcher<T> fetcher,
+            final int pageSize,
+            final LongSupplier countSupplier,
+            final Executor executor,
+            final int firstPages) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        EagerPageSpliterator<T> spliterator = EagerPageSpliterator.create(
+                cancellation.cancellable(fetcher), pageSize, countSupplier, executor, firstPages);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel)
+                .onClose(spliterator::close);
+    }
+
+    /**
+     * Sequential stream whose pages are fetched by up to workers fetches at once on the executor and delivered in
+     * page order, giving the fetch throughput of a parallel stream with the ordering of a sequential one. At most
+     * bufferPages pages are fetched ahead of the consumer, counting pages being fetched and pages waiting for an
+     * earlier page to arrive.
+     * <p>
+     * The stream does not split, performing orderedConcurrentStream(...).parallel() will not add any concurrency.
+     * Closing the stream stops any further pages being fetched.
+     *
+     * @param fetcher     Interface for retrieving slices
+     * @param pageSize    Size of pages to be queries
+     * @param count       Overall size of result set, must be pre calculated
+     * @param workers     Maximum number of pages fetched at once
+     * @param bufferPages Maximum number of pages fetched ahead of the consumer
+     * @param executor    Executor the pages are fetched on
+     * @param <T>         Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> orderedConcurrentStream(
+            final SliceFetcher<T> fetcher,
+            final int pageSize,
+            final long count,
+            final int workers,
+            final int bufferPages,
+            final Executor executor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        OrderedConcurrentSpliterator<T> spliterator = OrderedConcurrentSpliterator.create(
+                count, pageSize, workers, bufferPages, cancellation.cancellable(fetcher), executor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel)
+                .onClose(spliterator::close);
+    }
+
+    /**
+     * Sequential stream over several shards of a result set, e.g. the same query against several databases, with
+     * every shard fetching its pages concurrently on the executor. Pages are handed over as they arrive from any
+     * shard, so elements are in no particular order and a scan takes about as long as the slowest shard.
+     * <p>
+     * Shards stop fetching while bufferPages pages are waiting to be consumed, and all resume once the consumer
+     * has taken the waiting pages below bufferPages. The executor needs a thread per shard for every shard to be
+     * fetched at once. Closing the stream stops any further pages being fetched.
+     *
+     * @param shards      Interface for retrieving slices from each shard, followed until a slice has no next slice
+     * @param pageSize    Size of pages to be queries
+     * @param bufferPages Maximum number of fetched pages waiting for the consumer
+     * @param executor    Executor the pages are fetched on
+     * @param <T>         Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> shardedStream(
+            final List<? extends SliceFetcher<T>> shards,
+            final int pageSize,
+            final int bufferPages,
+            final Executor executor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        ShardedPageSpliterator<T> spliterator =
+                ShardedPageSpliterator.create(cancellation.cancellable(shards), pageSize, bufferPages, executor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel)
+                .onClose(spliterator::close);
+    }
+
+    /**
+     * Sequential stream merging several shards of a result set which are each sorted by the comparator into one
+     * sorted stream. Each shard fetches its next page on the executor while its current page is merged, so all
+     * shards are read concurrently.
+     * <p>
+     * Closing the stream cancels any pages still being fetched.
+     *
+     * @param shards     Interface for retrieving slices from each shard, each sorted by the comparator
+     * @param pageSize   Size of pages to be queries
+     * @param comparator Order each shard is sorted by
+     * @param executor   Executor the pages are fetched on
+     * @param <T>        Generic type returned by slice fetched
+     * @return Stream of generic type T, sorted by the comparator
+     */
+    public static <T> Stream<T> sortedShardedStream(
+            final List<? extends SliceFetcher<T>> shards,
+            final int pageSize,
+            final Comparator<? super T> comparator,
+            final Executor executor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        MergingShardSpliterator<T> spliterator =
+                MergingShardSpliterator.create(cancellation.cancellable(shards), pageSize, comparator, executor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel)
+                .onClose(spliterator::close);
+    }
+
+    /**
+     * Stream which records each page in the checkpoint once all of its elements have been consumed, and skips pages
+     * already recorded. Re-running a stream over the same checkpoint after a crash therefore only streams the pages
+     * not completed by earlier runs. Pages complete out of order when run in parallel, and are recorded as they do.
+     * <p>
+     * A page counts as completed once the stream's pipeline has accepted its elements, so the checkpoint is only
+     * meaningful for terminal operations whose effects happen per element, such as forEach writing to a file.
+     * Page numbers must refer to the same rows across runs, so the result set should be ordered by a stable key.
+     *
+     * @param fetcher    Interface for retrieving slices
+     * @param pageSize   Size of pages to be queries
+     * @param count      Overall size of result set, must be pre calculated
+     * @param checkpoint Checkpoint of completed pages, see {@link PageCheckpoint#open(java.nio.file.Path, int)}
+     * @param <T>        Generic type returned by slice fetched
+     * @return Stream of generic type T, excluding the elements of pages already completed
+     */
+    public static <T> Stream<T> resumablePagedStream(
+            final SliceFetcher<T> fetcher, final int pageSize, final long count, final PageCheckpoint checkpoint) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        ResumablePageSpliterator<T> spliterator =
+                ResumablePageSpliterator.create(count, pageSize, cancellation.cancellable(fetcher), checkpoint);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over slices without ever counting the result set, slices are followed until one is short, empty or
+     * reports it has no next slice.
+     * <p>
+     * When run in parallel the stream splits speculatively, handing out ranges of pages that grow with the pages
+     * seen to be full, and stops splitting once the end of the result set has been seen. A parallel scan starts
+     * straight away rather than waiting on a count or a first page, see {@link SpeculativePageSpliterator}. The
+     * stream is not SIZED.
+     *
+     * @param fetcher  Interface for retrieving slices
+     * @param pageSize Size of pages to be queries
+     * @param <T>      Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> slicedStream(final SliceFetcher<T> fetcher, final int pageSize) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        SpeculativePageSpliterator<T> spliterator =
+                SpeculativePageSpliterator.create(pageSize, cancellation.cancellable(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
     }
 
     /**
@@ -56,8 +381,215 @@ public final class PaginationUtils {
      * @return Stream of generic type T
      */
     public static <T> Stream<T> prefetchPageStream(final PageFetcher<T> fetcher, final int pageSize) {
-        PreFetchPageSpliterator<T> spliterator = PreFetchPageSpliterator.create(pageSize, fetcher);
-        return StreamSupport.stream(spliterator, false);
+        FetchCancellation cancellation = FetchCancellation.create();
+        PreFetchPageSpliterator<T> spliterator =
+                PreFetchPageSpliterator.create(pageSize, cancellation.cancellable(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over paginated result set without having to know the size of the result set beforehand,
+     * fetching pages on the given executor rather than on the stream's workers.
+     *
+     * @param fetcher       Interface for retrieving pages
+     * @param pageSize      Size of pages to be queries
+     * @param fetchExecutor Executor the pages are fetched on
+     * @param <T>           Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> prefetchPageStream(
+            final PageFetcher<T> fetcher, final int pageSize, final Executor fetchExecutor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        return prefetchPageStream(PageFetchers.onExecutor(cancellation.cancellable(fetcher), fetchExecutor), pageSize)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over paginated result set without having to know the size of the result set beforehand, reporting
+     * fetches, splits and traversal time to the listener, see {@link PageFetchStats}.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param pageSize Size of pages to be queries
+     * @param listener Listener notified of the stream's fetches, splits and traversal
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> prefetchPageStream(
+            final PageFetcher<T> fetcher, final int pageSize, final PageFetchListener listener) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PreFetchPageSpliterator<T> spliterator = PreFetchPageSpliterator.create(
+                pageSize, PageFetchers.metered(cancellation.cancellable(fetcher), listener));
+        return StreamSupport.stream(new MeteredSpliterator<>(spliterator, listener), false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Sequential stream which fetches upcoming pages on the given executor while the current page is consumed,
+     * so time spent querying overlaps with time spent processing. Pages are delivered in order and at most
+     * readAhead pages are held in flight at any one time.
+     * <p>
+     * The stream does not split, performing readAheadStream(...).parallel() will not add any concurrency.
+     *
+     * @param fetcher   Interface for retrieving pages
+     * @param pageSize  Size of pages to be queries
+     * @param readAhead Maximum number of upcoming pages to fetch ahead of the consumer
+     * @param executor  Executor the upcoming pages are fetched on
+     * @param <T>       Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> readAheadStream(
+            final PageFetcher<T> fetcher, final int pageSize, final int readAhead, final Executor executor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        ReadAheadPageSpliterator<T> spliterator =
+                ReadAheadPageSpliterator.create(pageSize, readAhead, cancellation.cancellable(fetcher), executor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel)
+                .onClose(spliterator::close);
+    }
+
+    /**
+     * Sequential stream whose pages are all fetched by a background task on the executor as fast as the fetcher
+     * returns them, regardless of how quickly they are consumed. Up to heapBudgetRows rows are buffered on the heap,
+     * further pages are encoded with the codec into a memory mapped temporary file and read back in order, so a
+     * stalled consumer neither holds the database connection open nor grows the heap.
+     * <p>
+     * The stream does not split. Closing the stream, or consuming it to the end, deletes the temporary file.
+     *
+     * @param fetcher        Interface for retrieving slices, followed until a slice has no next slice
+     * @param pageSize       Size of pages to be queries
+     * @param heapBudgetRows Maximum number of rows buffered on the heap before pages are spilled to disk
+     * @param codec          Encodes pages for the spill file, see {@link PageCodec#javaSerialization()}
+     * @param executor       Executor the background fetch runs on
+     * @param <T>            Generic type returned by slice fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> spillingStream(
+            final SliceFetcher<T> fetcher,
+            final int pageSize,
+            final long heapBudgetRows,
+            final PageCodec<T> codec,
+            final Executor executor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        SpillingPageSpliterator<T> spliterator = SpillingPageSpliterator.create(
+                pageSize, heapBudgetRows, codec, cancellation.cancellable(fetcher), executor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel)
+                .onClose(spliterator::close);
+    }
+
+    /**
+     * Stream over a result set using keyset (seek) pagination. Each page is queried from the key of the last
+     * element of the previous page instead of an offset, so late pages cost the same as the first one.
+     * <p>
+     * Pages depend on the page before them, so the stream does not split.
+     *
+     * @param fetcher      Interface for retrieving the page following a key
+     * @param pageSize     Size of pages to be queries
+     * @param keyExtractor Extracts the key pages are ordered by from an element
+     * @param <T>          Generic type returned by page fetched
+     * @param <K>          Type of the key pages are ordered by
+     * @return Stream of generic type T
+     */
+    public static <T, K> Stream<T> keysetStream(
+            final KeysetPageFetcher<T, K> fetcher,
+            final int pageSize,
+            final Function<? super T, ? extends K> keyExtractor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        KeysetPageSpliterator<T, K> spliterator = KeysetPageSpliterator.create(
+                PageSizer.fixed(pageSize), cancellation.cancellableKeyset(fetcher), keyExtractor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over a result set using keyset (seek) pagination, adapting the page size during the scan to hit the
+     * target fetch latency, see {@link AdaptivePageSize}.
+     *
+     * @param fetcher      Interface for retrieving the page following a key
+     * @param pageSize     Bounds and target latency for the page size
+     * @param keyExtractor Extracts the key pages are ordered by from an element
+     * @param <T>          Generic type returned by page fetched
+     * @param <K>          Type of the key pages are ordered by
+     * @return Stream of generic type T
+     */
+    public static <T, K> Stream<T> keysetStream(
+            final KeysetPageFetcher<T, K> fetcher,
+            final AdaptivePageSize pageSize,
+            final Function<? super T, ? extends K> keyExtractor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        KeysetPageSpliterator<T, K> spliterator =
+                KeysetPageSpliterator.create(pageSize.newSizer(), cancellation.cancellableKeyset(fetcher), keyExtractor);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over a result set with a numeric primary key, read as keyset pages bounded by ranges of keys. The
+     * lowest and highest keys are obtained once, on the terminal operation, and when run in parallel the range of
+     * keys between them is split in half, dense ranges being split further than sparse ones, see
+     * {@link KeyRangeSpliterator}. Elements are streamed in key order.
+     * <p>
+     * Unlike offset pages, ranges of keys stay correct when rows are inserted or deleted during the scan and no page
+     * pays for skipping past an offset.
+     *
+     * @param fetcher      Interface for retrieving a page of the elements whose keys are within a range
+     * @param pageSize     Size of pages to be queries
+     * @param minKey       Method of obtaining the lowest key, e.g. SELECT min(id), will be lazily evaluated
+     * @param maxKey       Method of obtaining the highest key, e.g. SELECT max(id), will be lazily evaluated and
+     *                     should be lower than the lowest key for an empty result set
+     * @param keyExtractor Extracts the key from an element
+     * @param <T>          Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> keyRangeStream(
+            final KeyRangeFetcher<T> fetcher,
+            final int pageSize,
+            final LongSupplier minKey,
+            final LongSupplier maxKey,
+            final ToLongFunction<? super T> keyExtractor) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        KeyRangeFetcher<T> cancellableFetcher = cancellation.cancellableKeyRange(fetcher);
+        Supplier<KeyRangeSpliterator<T>> spliterator = () -> KeyRangeSpliterator.create(
+                minKey.getAsLong(), maxKey.getAsLong(), pageSize, cancellableFetcher, keyExtractor);
+
+        return StreamSupport.stream(spliterator, KEY_RANGE_SPLITERATOR_CHARACTERISTICS, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over a result set queried by row offset and limit. The offset is advanced by the number of rows
+     * returned, and the stream ends on the first page shorter than requested.
+     *
+     * @param fetcher  Interface for retrieving rows from an offset
+     * @param pageSize Size of pages to be queries
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> offsetStream(final OffsetFetcher<T> fetcher, final int pageSize) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        OffsetPageSpliterator<T> spliterator =
+                OffsetPageSpliterator.create(PageSizer.fixed(pageSize), cancellation.cancellableOffset(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream over a result set queried by row offset and limit, adapting the page size during the scan to hit the
+     * target fetch latency, see {@link AdaptivePageSize}. The offset is advanced by the number of rows returned so
+     * it stays correct as the page size changes.
+     *
+     * @param fetcher  Interface for retrieving rows from an offset
+     * @param pageSize Bounds and target latency for the page size
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of generic type T
+     */
+    public static <T> Stream<T> offsetStream(final OffsetFetcher<T> fetcher, final AdaptivePageSize pageSize) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        OffsetPageSpliterator<T> spliterator =
+                OffsetPageSpliterator.create(pageSize.newSizer(), cancellation.cancellableOffset(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
     }
 
     /**
@@ -70,8 +602,136 @@ public final class PaginationUtils {
      * @return Stream of generic type T
      */
     public static <T> Stream<T> pageableStream(final Function<Pageable, Page<T>> fetcher, final Pageable pageable) {
-        PageableSpliterator<T> spliterator = PageableSpliterator.create(pageable, fetcher);
-        return StreamSupport.stream(spliterator, false);
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageableSpliterator<T> spliterator = PageableSpliterator.create(pageable, cancellation.cancellable(fetcher));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream of whole pages rather than their elements, for consumers which work in batches (JDBC batch inserts,
+     * bulk requests). Splits in parallel the same way as {@link #pagedStream(PageFetcher, int, long)}, with each
+     * page fetched once. The lists are the pages' own unmodifiable content.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param pageSize Size of pages to be queries
+     * @param count    Overall size of result set, must be pre calculated
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of the content of each page
+     */
+    public static <T> Stream<List<T>> pagedBatchStream(final PageFetcher<T> fetcher, final int pageSize, final long count) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageSpliterator<List<T>> spliterator = PageSpliterator.create(PageBatches.numberOfPages(count, pageSize), 1,
+                PageBatches.pageFetcher(cancellation.cancellable(fetcher), pageSize));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream of batches of batchSize elements re-chunked from the pages, so batch size can be chosen independently
+     * of the page size queried. When run in parallel the pages are split by halving the remaining range, rounded
+     * to a page where a batch ends, so only the last batch of the stream may be smaller.
+     *
+     * @param fetcher   Interface for retrieving pages
+     * @param pageSize  Size of pages to be queries
+     * @param count     Overall size of result set, must be pre calculated
+     * @param batchSize Size of the batches streamed
+     * @param <T>       Generic type returned by page fetched
+     * @return Stream of batches of generic type T
+     */
+    public static <T> Stream<List<T>> pagedBatchStream(
+            final PageFetcher<T> fetcher, final int pageSize, final long count, final int batchSize) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageRangeSpliterator<List<T>> spliterator = PageRangeSpliterator.create(
+                PageBatches.numberOfPages(count, pageSize), 1,
+                PageBatches.pageFetcher(cancellation.cancellable(fetcher), pageSize));
+        return StreamSupport.stream(ChunkingSpliterator.create(spliterator, pageSize, batchSize), false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream of whole pages starting from the given pageable, without having to know the size of the result set
+     * beforehand, see {@link #pageableStream(Function, Pageable)}. The lists are the pages' own unmodifiable content.
+     *
+     * @param fetcher  Interface for retrieving pages
+     * @param pageable Pageable to use for the queries
+     * @param <T>      Generic type returned by page fetched
+     * @return Stream of the content of each page
+     */
+    public static <T> Stream<List<T>> pageableBatchStream(
+            final Function<Pageable, Page<T>> fetcher, final Pageable pageable) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageableSpliterator<List<T>> spliterator = PageableSpliterator.create(PageBatches.batchPageable(pageable),
+                PageBatches.pageableFetcher(cancellation.cancellable(fetcher), pageable));
+        return StreamSupport.stream(spliterator, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Stream of batches of batchSize elements re-chunked from the pages starting from the given pageable, see
+     * {@link #pagedBatchStream(PageFetcher, int, long, int)}. The first page is fetched on the terminal operation
+     * to find the number of pages.
+     *
+     * @param fetcher   Interface for retrieving pages
+     * @param pageable  Pageable to use for the queries
+     * @param batchSize Size of the batches streamed
+     * @param <T>       Generic type returned by page fetched
+     * @return Stream of batches of generic type T
+     */
+    public static <T> Stream<List<T>> pageableBatchStream(
+            final Function<Pageable, Page<T>> fetcher, final Pageable pageable, final int batchSize) {
+        FetchCancellation cancellation = FetchCancellation.create();
+        Function<Pageable, Page<T>> cancellableFetcher = cancellation.cancellable(fetcher);
+        Supplier<ChunkingSpliterator<T>> spliterator = () -> ChunkingSpliterator.create(
+                PageBatches.pageableRange(cancellableFetcher, pageable), pageable.getPageSize(), batchSize);
+
+        return StreamSupport.stream(spliterator, CHUNKING_SPLITERATOR_CHARACTERISTICS, false)
+                .onClose(cancellation::cancel);
+    }
+
+    /**
+     * Reactive Streams publisher over a paginated result set, for bridging into Reactor or other reactive
+     * libraries without blocking a thread. Pages are fetched on the executor only as subscriber demand requires,
+     * at most maxConcurrentFetches at a time, and elements are emitted in order. Cancelling the subscription stops
+     * any further pages being fetched.
+     *
+     * @param fetcher              Interface for retrieving pages
+     * @param pageSize             Size of pages to be queries
+     * @param maxConcurrentFetches Maximum number of pages fetched at once
+     * @param executor             Executor the pages are fetched on
+     * @param <T>                  Generic type returned by page fetched
+     * @return Publisher of generic type T
+     */
+    public static <T> Publisher<T> pagedPublisher(
+            final PageFetcher<T> fetcher,
+            final int pageSize,
+            final int maxConcurrentFetches,
+            final Executor executor) {
+        return PagePublisher.create(pageSize, maxConcurrentFetches, fetcher, executor);
+    }
+
+    /**
+     * Reactive Streams publisher over a paginated result set starting from the given pageable, see
+     * {@link #pagedPublisher(PageFetcher, int, int, Executor)}.
+     *
+     * @param fetcher              Interface for retrieving pages
+     * @param pageable             Pageable to use for the queries
+     * @param maxConcurrentFetches Maximum number of pages fetched at once
+     * @param executor             Executor the pages are fetched on
+     * @param <T>                  Generic type returned by page fetched
+     * @return Publisher of generic type T
+     */
+    public static <T> Publisher<T> pageablePublisher(
+            final Function<Pageable, Page<T>> fetcher,
+            final Pageable pageable,
+            final int maxConcurrentFetches,
+            final Executor executor) {
+
+        PageFetcher<T> pageFetcher = (pageNumber, pageSize) ->
+                fetcher.apply(PageRequest.of(Math.toIntExact(pageNumber), pageSize, pageable.getSort()));
+
+        return new PagePublisher<>(
+                pageable.getPageNumber(), pageable.getPageSize(), maxConcurrentFetches, pageFetcher, executor);
     }
 
     private PaginationUtils() {
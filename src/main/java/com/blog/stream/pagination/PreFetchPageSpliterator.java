@@ -2,22 +2,24 @@ package com.blog.stream.pagination;
 
 import org.springframework.data.domain.Page;
 
+import java.util.List;
 import java.util.Spliterator;
-import java.util.function.Consumer;
 
-public class PreFetchPageSpliterator<T> implements Spliterator<T> {
+public class PreFetchPageSpliterator<T> extends BufferedPageSpliterator<T> {
 
     static final int PAGED_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | SIZED | SUBSIZED | CONCURRENT;
 
-    private int pageNumber;
-    private int totalNumberOfPages;
+    private long pageNumber;
+    private long totalNumberOfPages;
+    private long totalNumberOfElements;
     private boolean hasPrefetched;
+    private boolean finished;
     private final int pageSize;
     private final PageFetcher<T> pageFetcher;
     private Page<T> preFetchedPage;
 
     PreFetchPageSpliterator(
-            final int pageNumber,
+            final long pageNumber,
             final int pageSize,
             final PageFetcher<T> pageFetcher) {
         this.pageNumber = pageNumber;
@@ -29,25 +31,41 @@ public class PreFetchPageSpliterator<T> implements Spliterator<T> {
         return new PreFetchPageSpliterator<>(0, pageSize, pageFetcher);
     }
 
+    /**
+     * The prefetched page, if still held, is always the page at the current page number, so it is consumed rather
+     * than queried a second time.
+     */
     @Override
-    public boolean tryAdvance(final Consumer<? super T> action) {
-        Page<T> page = pageFetcher.fetch(pageNumber, pageSize);
-        page.forEach(action);
+    List<T> nextPage() {
+        if (finished || (hasPrefetched && pageNumber >= totalNumberOfPages)) {
+            return null;
+        }
+
+        Page<T> page = preFetchedPage != null ? preFetchedPage : pageFetcher.fetch(pageNumber, pageSize);
+        preFetchedPage = null;
 
         //in parallel mode this section will always be run on the last page
         pageNumber++;
-        return !page.isLast();
+        finished = page.isLast();
+        return page.getContent();
     }
 
     @Override
     public Spliterator<T> trySplit() {
+        if (isPartwayThroughPage() || finished) {
+            return null;
+        }
+
         if (!hasPrefetched) {
             prefetchPage();
         }
 
-        if (pageNumber == 0) {
+        if (preFetchedPage != null) {
+            PreFetchedChildPageSpliterator<T> childSpliterator =
+                    new PreFetchedChildPageSpliterator<>(preFetchedPage, pageSize);
+            preFetchedPage = null;
             pageNumber++;
-            return new PreFetchedChildPageSpliterator<>(preFetchedPage, pageSize);
+            return childSpliterator;
         }
 
         if (pageNumber + 1 >= totalNumberOfPages) {
@@ -65,7 +83,7 @@ public class PreFetchPageSpliterator<T> implements Spliterator<T> {
             prefetchPage();
         }
 
-        return pageSize * totalNumberOfPages;
+        return totalNumberOfElements;
     }
 
     @Override
@@ -75,18 +93,20 @@ public class PreFetchPageSpliterator<T> implements Spliterator<T> {
 
     private void prefetchPage() {
         preFetchedPage = pageFetcher.fetch(pageNumber, pageSize);
-        totalNumberOfPages = preFetchedPage.getTotalPages();
+        totalNumberOfElements = preFetchedPage.getTotalElements();
+        totalNumberOfPages = (totalNumberOfElements + pageSize - 1) / pageSize;
         hasPrefetched = true;
     }
 
-    static class ChildPageSpliterator<T> implements Spliterator<T> {
+    static class ChildPageSpliterator<T> extends BufferedPageSpliterator<T> {
 
-        private final int pageNumber;
+        private boolean fetched;
+        private final long pageNumber;
         private final int pageSize;
         private final PageFetcher<T> pageFetcher;
 
         private ChildPageSpliterator(
-                final int pageNumber,
+                final long pageNumber,
                 final int pageSize,
                 final PageFetcher<T> pageFetcher) {
             this.pageNumber = pageNumber;
@@ -95,10 +115,13 @@ public class PreFetchPageSpliterator<T> implements Spliterator<T> {
         }
 
         @Override
-        public boolean tryAdvance(final Consumer<? super T> action) {
-            Page<T> page = pageFetcher.fetch(pageNumber, pageSize);
-            page.forEach(action);
-            return false;
+        List<T> nextPage() {
+            if (fetched) {
+                return null;
+            }
+
+            fetched = true;
+            return pageFetcher.fetch(pageNumber, pageSize).getContent();
         }
 
         @Override
@@ -118,9 +141,9 @@ public class PreFetchPageSpliterator<T> implements Spliterator<T> {
 
     }
 
-    static class PreFetchedChildPageSpliterator<T> implements Spliterator<T> {
+    static class PreFetchedChildPageSpliterator<T> extends BufferedPageSpliterator<T> {
 
-        private final Page<T> page;
+        private Page<T> page;
         private final int pageSize;
 
         PreFetchedChildPageSpliterator(final Page<T> page, final int pageSize) {
@@ -128,11 +151,15 @@ public class PreFetchPageSpliterator<T> implements Spliterator<T> {
             this.pageSize = pageSize;
         }
 
-
         @Override
-        public boolean tryAdvance(final Consumer<? super T> action) {
-            page.forEach(action);
-            return false;
+        List<T> nextPage() {
+            if (page == null) {
+                return null;
+            }
+
+            List<T> content = page.getContent();
+            page = null;
+            return content;
         }
 
         @Override
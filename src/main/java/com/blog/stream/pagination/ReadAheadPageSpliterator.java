@@ -0,0 +1,117 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Page;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+
+public class ReadAheadPageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int READ_AHEAD_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE;
+
+    private long nextPageNumber;
+    private long totalNumberOfPages = -1;
+    private boolean finished;
+    private final int pageSize;
+    private final int readAhead;
+    private final PageFetcher<T> pageFetcher;
+    private final Executor executor;
+    private final Deque<CompletableFuture<Page<T>>> inFlight = new ConcurrentLinkedDeque<>();
+    private volatile boolean closed;
+
+    ReadAheadPageSpliterator(
+            final int pageSize,
+            final int readAhead,
+            final PageFetcher<T> pageFetcher,
+            final Executor executor) {
+        this.pageSize = pageSize;
+        this.readAhead = readAhead;
+        this.pageFetcher = pageFetcher;
+        this.executor = executor;
+    }
+
+    static <R> ReadAheadPageSpliterator<R> create(
+            final int pageSize, final int readAhead, final PageFetcher<R> pageFetcher, final Executor executor) {
+        return new ReadAheadPageSpliterator<>(pageSize, readAhead, pageFetcher, executor);
+    }
+
+    /**
+     * Take the next page in order. Before the page is handed to the consumer the read ahead window is
+     * topped up, so the following pages are being fetched while this one is processed.
+     *
+     * The number of pages is unknown until the first page arrives, so only the first page is requested up front.
+     */
+    @Override
+    List<T> nextPage() {
+        if (finished || closed) {
+            return null;
+        }
+
+        if (inFlight.isEmpty()) {
+            requestNextPage();
+        }
+
+        CompletableFuture<Page<T>> nextPage = inFlight.poll();
+        if (nextPage == null) {
+            return null;
+        }
+        Page<T> page = Futures.await(nextPage);
+        totalNumberOfPages = (page.getTotalElements() + pageSize - 1) / pageSize;
+
+        if (page.isLast()) {
+            finished = true;
+            cancelInFlight();
+        } else {
+            fillWindow();
+        }
+
+        return page.getContent();
+    }
+
+    /**
+     * Pages have to be delivered in order from a single window, so this spliterator is never split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return READ_AHEAD_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    /**
+     * Cancel the pages fetched ahead of the consumer and stop any more being requested. May be called from a
+     * thread other than the consumer's, the consumer stops at the next page.
+     */
+    void close() {
+        closed = true;
+        cancelInFlight();
+    }
+
+    private void fillWindow() {
+        while (inFlight.size() < readAhead && nextPageNumber < totalNumberOfPages && !closed) {
+            requestNextPage();
+        }
+    }
+
+    private void requestNextPage() {
+        long pageNumber = nextPageNumber++;
+        inFlight.add(CompletableFuture.supplyAsync(() -> pageFetcher.fetch(pageNumber, pageSize), executor));
+    }
+
+    private void cancelInFlight() {
+        inFlight.forEach(future -> future.cancel(true));
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.List;
+import java.util.Spliterator;
+
+/**
+ * Splits a range of pages in halves as {@link PageRangeSpliterator} does, skipping pages the checkpoint holds as
+ * completed and recording each page in the checkpoint once all of its elements have been consumed.
+ *
+ * Skipped pages are still counted in the estimated size, so the spliterator does not report SIZED.
+ */
+public class ResumablePageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int RESUMABLE_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | CONCURRENT;
+
+    private long startPage;
+    private final long endPage;
+    private final long count;
+    private final int pageSize;
+    private final SliceFetcher<T> pageFetcher;
+    private final PageCheckpoint checkpoint;
+    private long currentPage = -1;
+
+    @VisibleForTesting
+    ResumablePageSpliterator(
+            final long startPage,
+            final long endPage,
+            final long count,
+            final int pageSize,
+            final SliceFetcher<T> pageFetcher,
+            final PageCheckpoint checkpoint) {
+        this.startPage = startPage;
+        this.endPage = endPage;
+        this.count = count;
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+        this.checkpoint = checkpoint;
+    }
+
+    static <R> ResumablePageSpliterator<R> create(
+            final long count, final int pageSize, final SliceFetcher<R> pageFetcher, final PageCheckpoint checkpoint) {
+        if (checkpoint.getPageSize() != pageSize) {
+            throw new IllegalArgumentException(
+                    "Checkpoint is for page size " + checkpoint.getPageSize() + ", not " + pageSize);
+        }
+        long numberOfPages = (count + pageSize - 1) / pageSize;
+        return new ResumablePageSpliterator<>(0, numberOfPages, count, pageSize, pageFetcher, checkpoint);
+    }
+
+    @Override
+    List<T> nextPage() {
+        while (startPage < endPage && checkpoint.isCompleted(startPage)) {
+            startPage++;
+        }
+        if (startPage >= endPage) {
+            return null;
+        }
+
+        currentPage = startPage++;
+        return pageFetcher.fetch(currentPage, pageSize).getContent();
+    }
+
+    @Override
+    void pageCompleted() {
+        checkpoint.markCompleted(currentPage);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long remainingPages = endPage - startPage;
+        if (isPartwayThroughPage() || remainingPages < 2) {
+            return null;
+        }
+
+        long midPage = startPage + remainingPages / 2;
+        ResumablePageSpliterator<T> childSpliterator =
+                new ResumablePageSpliterator<>(startPage, midPage, count, pageSize, pageFetcher, checkpoint);
+        this.startPage = midPage;
+        return childSpliterator;
+    }
+
+    @Override
+    public long estimateSize() {
+        long firstElement = startPage * pageSize;
+        long lastElement = Math.min(endPage * pageSize, count);
+        return Math.max(0, lastElement - firstElement);
+    }
+
+    @Override
+    public int characteristics() {
+        return RESUMABLE_SPLITERATOR_CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,203 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fetches the pages of every shard concurrently, each shard fetching its own pages one after another on the
+ * executor, and hands them to the consumer as they arrive regardless of shard.
+ *
+ * A shard stops fetching while bufferPages pages are waiting for the consumer. Once the consumer has taken the
+ * waiting pages below bufferPages every paused shard resumes, each with one fetch in flight, so a scan takes as long
+ * as its slowest shard however small the buffer. At most bufferPages pages plus one per shard are held. Fetches are
+ * scheduled as tasks rather than by blocked producers, so an abandoned stream leaves nothing waiting on the
+ * executor.
+ */
+public class ShardedPageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int SHARDED_SPLITERATOR_CHARACTERISTICS = IMMUTABLE;
+
+    private final List<Shard> shards = new ArrayList<>();
+    private final int pageSize;
+    private final int bufferPages;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pageArrived = lock.newCondition();
+    private final Deque<List<T>> readyPages = new ArrayDeque<>();
+    private final Deque<Shard> pausedShards = new ArrayDeque<>();
+    private int remainingShards;
+    private boolean started;
+    private boolean closed;
+    private Throwable failure;
+
+    ShardedPageSpliterator(
+            final List<? extends SliceFetcher<T>> shardFetchers,
+            final int pageSize,
+            final int bufferPages,
+            final Executor executor) {
+        if (bufferPages < 1) {
+            throw new IllegalArgumentException("Buffer pages must be positive, was " + bufferPages);
+        }
+        shardFetchers.forEach(fetcher -> shards.add(new Shard(fetcher)));
+        this.remainingShards = shards.size();
+        this.pageSize = pageSize;
+        this.bufferPages = bufferPages;
+        this.executor = executor;
+    }
+
+    static <R> ShardedPageSpliterator<R> create(
+            final List<? extends SliceFetcher<R>> shardFetchers,
+            final int pageSize,
+            final int bufferPages,
+            final Executor executor) {
+        return new ShardedPageSpliterator<>(shardFetchers, pageSize, bufferPages, executor);
+    }
+
+    @Override
+    List<T> nextPage() {
+        if (!started) {
+            started = true;
+            shards.forEach(this::submit);
+        }
+
+        List<T> page;
+        List<Shard> resumed = new ArrayList<>();
+        lock.lock();
+        try {
+            while (readyPages.isEmpty()) {
+                if (failure != null) {
+                    throw rethrow(failure);
+                }
+                if (remainingShards == 0 || closed) {
+                    return null;
+                }
+                pageArrived.await();
+            }
+            page = readyPages.poll();
+            if (readyPages.size() < bufferPages) {
+                resumed.addAll(pausedShards);
+                pausedShards.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new CancellationException("Interrupted while waiting for page");
+        } finally {
+            lock.unlock();
+        }
+
+        resumed.forEach(this::submit);
+        return page;
+    }
+
+    private void submit(final Shard shard) {
+        try {
+            executor.execute(() -> fetch(shard));
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private void fetch(final Shard shard) {
+        Slice<T> slice;
+        try {
+            slice = shard.fetcher.fetch(shard.nextPageNumber++, pageSize);
+        } catch (RuntimeException | Error e) {
+            failed(e);
+            return;
+        }
+
+        boolean fetchNext = false;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            readyPages.add(slice.getContent());
+            if (!slice.hasNext()) {
+                remainingShards--;
+            } else if (readyPages.size() < bufferPages) {
+                fetchNext = true;
+            } else {
+                pausedShards.add(shard);
+            }
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (fetchNext) {
+            submit(shard);
+        }
+    }
+
+    private void failed(final Throwable error) {
+        lock.lock();
+        try {
+            failure = error;
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop every shard fetching further pages and drop buffered pages.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            readyPages.clear();
+            pausedShards.clear();
+            pageArrived.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return (RuntimeException) error;
+    }
+
+    /**
+     * Pages from every shard arrive through one buffer, so this spliterator is never split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return SHARDED_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    private final class Shard {
+
+        private final SliceFetcher<T> fetcher;
+        private long nextPageNumber;
+
+        private Shard(final SliceFetcher<T> fetcher) {
+            this.fetcher = fetcher;
+        }
+    }
+}
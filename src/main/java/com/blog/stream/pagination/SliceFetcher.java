@@ -0,0 +1,7 @@
+package com.blog.stream.pagination;
+
+import org.springframework.data.domain.Slice;
+
+public interface SliceFetcher<T> {
+    Slice<T> fetch(final long offset, final int pageSize);
+}
@@ -0,0 +1,188 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spliterator over a result set of unknown size which splits by speculating on how many pages there are rather
+ * than waiting on a count or a first page.
+ *
+ * The last spliterator of a stream has no end page. Splitting it hands out the pages up to the speculation limit,
+ * twice the furthest page seen to be full, and keeps the pages after it. Every spliterator of the stream shares
+ * what has been fetched so far: the first short or empty page fixes where the result set ends, after which pages
+ * past the end are never fetched and ranges split by halving as {@link PageRangeSpliterator} does. Only once the
+ * last spliterator has speculated past every page seen to be full does splitting fetch a page, its own first page,
+ * so the pages queried past the end of the result set are at most those speculated on before the end was seen.
+ *
+ * Not SIZED, the estimate is the number of rows in the pages speculated on.
+ */
+public class SpeculativePageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int SPECULATIVE_PAGE_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE | CONCURRENT;
+
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private long startPage;
+    private final long endPage;
+    private List<T> probedPage;
+    private final int pageSize;
+    private final SliceFetcher<T> sliceFetcher;
+    private final Discovery discovery;
+
+    @VisibleForTesting
+    SpeculativePageSpliterator(
+            final long startPage,
+            final long endPage,
+            final List<T> probedPage,
+            final int pageSize,
+            final SliceFetcher<T> sliceFetcher,
+            final Discovery discovery) {
+        this.startPage = startPage;
+        this.endPage = endPage;
+        this.probedPage = probedPage;
+        this.pageSize = pageSize;
+        this.sliceFetcher = sliceFetcher;
+        this.discovery = discovery;
+    }
+
+    /**
+     * The first split speculates on four pages per thread of the common pool, enough for the stream to split
+     * down to single pages before any page has been fetched.
+     */
+    static <R> SpeculativePageSpliterator<R> create(final int pageSize, final SliceFetcher<R> sliceFetcher) {
+        long initialPages = 4L * ForkJoinPool.getCommonPoolParallelism();
+        return new SpeculativePageSpliterator<>(0, UNBOUNDED, null, pageSize, sliceFetcher, new Discovery(initialPages));
+    }
+
+    @Override
+    List<T> nextPage() {
+        if (probedPage != null) {
+            List<T> page = probedPage;
+            probedPage = null;
+            startPage++;
+            return page;
+        }
+        if (startPage >= lastPage()) {
+            return null;
+        }
+
+        return fetch();
+    }
+
+    /**
+     * Once the end of the result set is known the remaining pages are halved, the child taking the first half.
+     * Until then a spliterator with an end page halves it, and the last spliterator hands out every page up to
+     * the speculation limit, probing its first page when it has already speculated up to the limit.
+     *
+     * @return Child spliterator over the first pages of this spliterator
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (isPartwayThroughPage()) {
+            return null;
+        }
+
+        long lastPage = lastPage();
+        if (lastPage == UNBOUNDED) {
+            if (startPage >= discovery.getSpeculationLimit()) {
+                probedPage = fetch();
+                startPage--;
+                lastPage = lastPage();
+            }
+            if (lastPage == UNBOUNDED) {
+                return splitAt(discovery.getSpeculationLimit());
+            }
+        }
+
+        long remainingPages = lastPage - startPage;
+        if (remainingPages < 2) {
+            return null;
+        }
+        return splitAt(startPage + remainingPages / 2);
+    }
+
+    @Override
+    public long estimateSize() {
+        long lastPage = lastPage();
+        if (lastPage == UNBOUNDED) {
+            return Math.max(discovery.getSpeculationLimit() - startPage, discovery.initialPages) * pageSize;
+        }
+        return Math.max(0, lastPage - startPage) * pageSize;
+    }
+
+    @Override
+    public int characteristics() {
+        return SPECULATIVE_PAGE_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    private Spliterator<T> splitAt(final long midPage) {
+        SpeculativePageSpliterator<T> childSpliterator = new SpeculativePageSpliterator<>(
+                startPage, midPage, probedPage, pageSize, sliceFetcher, discovery);
+        this.probedPage = null;
+        this.startPage = midPage;
+        return childSpliterator;
+    }
+
+    private List<T> fetch() {
+        Slice<T> slice = sliceFetcher.fetch(startPage, pageSize);
+        discovery.pageFetched(startPage, pageSize, slice);
+        startPage++;
+        return slice.getContent();
+    }
+
+    private long lastPage() {
+        return Math.min(endPage, discovery.getEndPage());
+    }
+
+    @VisibleForTesting
+    long getStartPage() {
+        return startPage;
+    }
+
+    @VisibleForTesting
+    long getEndPage() {
+        return lastPage();
+    }
+
+    /**
+     * What the spliterators of one stream have learnt about the size of the result set.
+     */
+    static final class Discovery {
+
+        private final long initialPages;
+        private final AtomicLong fullPages = new AtomicLong();
+        private final AtomicLong endPage = new AtomicLong(UNBOUNDED);
+
+        Discovery(final long initialPages) {
+            this.initialPages = initialPages;
+        }
+
+        void pageFetched(final long pageNumber, final int pageSize, final Slice<?> slice) {
+            int rows = slice.getNumberOfElements();
+            if (rows == 0) {
+                endPage.accumulateAndGet(pageNumber, Math::min);
+            } else if (rows < pageSize || !slice.hasNext()) {
+                endPage.accumulateAndGet(pageNumber + 1, Math::min);
+            } else {
+                fullPages.accumulateAndGet(pageNumber + 1, Math::max);
+            }
+        }
+
+        /**
+         * @return First page past the end of the result set, or {@link #UNBOUNDED} until a short or empty page
+         * has been seen
+         */
+        long getEndPage() {
+            return endPage.get();
+        }
+
+        long getSpeculationLimit() {
+            return Math.max(initialPages, 2 * fullPages.get());
+        }
+    }
+}
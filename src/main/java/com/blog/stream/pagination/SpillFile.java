@@ -0,0 +1,108 @@
+package com.blog.stream.pagination;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Memory mapped temporary file holding length prefixed records, read back in the order they were appended.
+ *
+ * The file is mapped a segment at a time and records may straddle segments. Once every record has been read the
+ * file is reused from the start, so it only grows to the largest backlog rather than the total spilled.
+ * Not thread safe.
+ */
+final class SpillFile implements Closeable {
+
+    static final int SEGMENT_BYTES = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int segmentBytes;
+    private final Cursor writer = new Cursor();
+    private final Cursor reader = new Cursor();
+    private final byte[] lengthBytes = new byte[Integer.BYTES];
+
+    private SpillFile(final Path path, final FileChannel channel, final int segmentBytes) {
+        this.path = path;
+        this.channel = channel;
+        this.segmentBytes = segmentBytes;
+    }
+
+    static SpillFile create(final int segmentBytes) throws IOException {
+        Path path = Files.createTempFile("page-spill", ".bin");
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new SpillFile(path, channel, segmentBytes);
+        } catch (IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    void append(final byte[] record) throws IOException {
+        ByteBuffer.wrap(lengthBytes).putInt(record.length);
+        writer.transfer(lengthBytes, true);
+        writer.transfer(record, true);
+    }
+
+    byte[] next() throws IOException {
+        reader.transfer(lengthBytes, false);
+        byte[] record = new byte[ByteBuffer.wrap(lengthBytes).getInt()];
+        reader.transfer(record, false);
+
+        if (reader.position == writer.position) {
+            reader.position = 0;
+            writer.position = 0;
+        }
+        return record;
+    }
+
+    boolean isEmpty() {
+        return reader.position == writer.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Position in the file along with the segment currently mapped around it.
+     */
+    private final class Cursor {
+
+        private long position;
+        private long segmentIndex = -1;
+        private MappedByteBuffer segment;
+
+        private void transfer(final byte[] bytes, final boolean write) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                long index = position / segmentBytes;
+                if (index != segmentIndex) {
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, index * segmentBytes, segmentBytes);
+                    segmentIndex = index;
+                }
+                segment.position((int) (position % segmentBytes));
+
+                int length = Math.min(segment.remaining(), bytes.length - offset);
+                if (write) {
+                    segment.put(bytes, offset, length);
+                } else {
+                    segment.get(bytes, offset, length);
+                }
+                offset += length;
+                position += length;
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Queue of pages between one producer and one consumer which holds up to a budget of rows on the heap and spills
+ * any further pages to a memory mapped {@link SpillFile}.
+ *
+ * Once a page has been spilled every following page is spilled too until the consumer has read the spill file
+ * back, so pages are always taken in the order they were put. Pages are encoded and decoded outside the lock.
+ */
+class SpillingPageBuffer<T> implements Closeable {
+
+    private final long heapBudgetRows;
+    private final PageCodec<T> codec;
+    private final int segmentBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pageAvailable = lock.newCondition();
+    private final Deque<List<T>> heapPages = new ArrayDeque<>();
+    private long heapRows;
+    private SpillFile spillFile;
+    private int spilledPages;
+    private long totalSpilledPages;
+    private boolean finished;
+    private boolean closed;
+    private Throwable failure;
+
+    SpillingPageBuffer(final long heapBudgetRows, final PageCodec<T> codec, final int segmentBytes) {
+        this.heapBudgetRows = heapBudgetRows;
+        this.codec = codec;
+        this.segmentBytes = segmentBytes;
+    }
+
+    void put(final List<T> page) {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (spilledPages == 0 && heapRows + page.size() <= heapBudgetRows) {
+                heapPages.add(page);
+                heapRows += page.size();
+                pageAvailable.signalAll();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        byte[] encoded = encode(page);
+
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (spillFile == null) {
+                spillFile = SpillFile.create(segmentBytes);
+            }
+            spillFile.append(encoded);
+            spilledPages++;
+            totalSpilledPages++;
+            pageAvailable.signalAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to spill page", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take the next page, waiting for the producer if none is buffered. Pages buffered before a failure are
+     * taken before the failure is thrown.
+     *
+     * @return Next page, or null once the producer has finished and every page has been taken
+     */
+    List<T> take() {
+        byte[] encoded;
+        lock.lock();
+        try {
+            while (heapPages.isEmpty() && spilledPages == 0) {
+                if (failure != null) {
+                    throw rethrow(failure);
+                }
+                if (finished || closed) {
+                    return null;
+                }
+                pageAvailable.await();
+            }
+
+            if (!heapPages.isEmpty()) {
+                List<T> page = heapPages.poll();
+                heapRows -= page.size();
+                return page;
+            }
+
+            encoded = spillFile.next();
+            spilledPages--;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for page");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read spilled page", e);
+        } finally {
+            lock.unlock();
+        }
+
+        return decode(encoded);
+    }
+
+    void finish() {
+        lock.lock();
+        try {
+            finished = true;
+            pageAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void fail(final Throwable error) {
+        lock.lock();
+        try {
+            failure = error;
+            pageAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop every buffered page and delete the spill file.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            heapPages.clear();
+            heapRows = 0;
+            spilledPages = 0;
+            if (spillFile != null) {
+                spillFile.close();
+                spillFile = null;
+            }
+            pageAvailable.signalAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to delete spill file", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] encode(final List<T> page) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            codec.write(page, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to encode page", e);
+        }
+        return output.toByteArray();
+    }
+
+    private List<T> decode(final byte[] encoded) {
+        try {
+            return codec.read(new ByteArrayInputStream(encoded));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decode page", e);
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+        return (RuntimeException) error;
+    }
+
+    @VisibleForTesting
+    long getTotalSpilledPages() {
+        lock.lock();
+        try {
+            return totalSpilledPages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @VisibleForTesting
+    long getHeapRows() {
+        lock.lock();
+        try {
+            return heapRows;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
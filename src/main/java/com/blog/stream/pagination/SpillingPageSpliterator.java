@@ -0,0 +1,109 @@
+package com.blog.stream.pagination;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+
+/**
+ * Fetches every page as fast as the fetcher allows on a background task, independently of the consumer, into a
+ * {@link SpillingPageBuffer}. A consumer which falls behind costs disk rather than heap, and the fetcher is done
+ * with the database as soon as the last page has been read.
+ */
+public class SpillingPageSpliterator<T> extends BufferedPageSpliterator<T> {
+
+    static final int SPILLING_SPLITERATOR_CHARACTERISTICS = ORDERED | IMMUTABLE;
+
+    private final int pageSize;
+    private final SliceFetcher<T> pageFetcher;
+    private final Executor executor;
+    private final SpillingPageBuffer<T> buffer;
+    private boolean started;
+
+    SpillingPageSpliterator(
+            final int pageSize,
+            final SliceFetcher<T> pageFetcher,
+            final Executor executor,
+            final SpillingPageBuffer<T> buffer) {
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+        this.executor = executor;
+        this.buffer = buffer;
+    }
+
+    static <R> SpillingPageSpliterator<R> create(
+            final int pageSize,
+            final long heapBudgetRows,
+            final PageCodec<R> codec,
+            final SliceFetcher<R> pageFetcher,
+            final Executor executor) {
+        SpillingPageBuffer<R> buffer = new SpillingPageBuffer<>(heapBudgetRows, codec, SpillFile.SEGMENT_BYTES);
+        return new SpillingPageSpliterator<>(pageSize, pageFetcher, executor, buffer);
+    }
+
+    @Override
+    List<T> nextPage() {
+        if (!started) {
+            started = true;
+            executor.execute(this::produce);
+        }
+
+        List<T> page;
+        try {
+            page = buffer.take();
+        } catch (RuntimeException | Error e) {
+            buffer.close();
+            throw e;
+        }
+        if (page == null) {
+            buffer.close();
+        }
+        return page;
+    }
+
+    private void produce() {
+        try {
+            long pageNumber = 0;
+            Slice<T> slice;
+            do {
+                if (buffer.isClosed()) {
+                    return;
+                }
+                slice = pageFetcher.fetch(pageNumber++, pageSize);
+                buffer.put(slice.getContent());
+            } while (slice.hasNext());
+            buffer.finish();
+        } catch (RuntimeException | Error e) {
+            buffer.fail(e);
+        }
+    }
+
+    void close() {
+        buffer.close();
+    }
+
+    /**
+     * Pages are produced by a single background fetch, so this spliterator is never split.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return SPILLING_SPLITERATOR_CHARACTERISTICS;
+    }
+
+    @VisibleForTesting
+    SpillingPageBuffer<T> getBuffer() {
+        return buffer;
+    }
+}
@@ -0,0 +1,139 @@
+package com.blog.stream.pagination.micrometer;
+
+import com.blog.stream.pagination.PageFetchListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes the fetches of paged streams to Micrometer, tagged with the name of the stream. Events before the
+ * listener is bound to a registry are not recorded.
+ *
+ * Comparing pagination.fetch with pagination.traversal shows whether a stream is limited by the database or by
+ * its consumer: when the total traversal time far exceeds the total fetch time the consumer is the bottleneck.
+ */
+public class MicrometerPageFetchListener implements PageFetchListener, MeterBinder {
+
+    private final Iterable<Tag> tags;
+    private final AtomicInteger pagesInFlight = new AtomicInteger();
+
+    private volatile Meters meters;
+
+    public MicrometerPageFetchListener(final String streamName) {
+        this.tags = Tags.of("stream", streamName);
+    }
+
+    /**
+     * All meters are registered before any is published, so an event racing the binding either records to every
+     * meter or to none.
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("pagination.pages.in.flight", pagesInFlight, AtomicInteger::get)
+                .tags(tags)
+                .register(registry);
+        meters = new Meters(registry, tags);
+    }
+
+    @Override
+    public void fetchQueued(final long pageNumber, final long waitNanos) {
+        Meters bound = meters;
+        if (bound != null) {
+            bound.queueTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void fetchStarted(final long pageNumber) {
+        pagesInFlight.incrementAndGet();
+    }
+
+    @Override
+    public void fetchCompleted(final long pageNumber, final int rows, final long nanos) {
+        pagesInFlight.decrementAndGet();
+        Meters bound = meters;
+        if (bound != null) {
+            bound.fetchTimer.record(nanos, TimeUnit.NANOSECONDS);
+            bound.rowsPerPage.record(rows);
+            bound.rows.increment(rows);
+        }
+    }
+
+    @Override
+    public void fetchFailed(final long pageNumber, final Throwable error, final long nanos) {
+        pagesInFlight.decrementAndGet();
+        Meters bound = meters;
+        if (bound != null) {
+            bound.fetchTimer.record(nanos, TimeUnit.NANOSECONDS);
+            bound.fetchFailures.increment();
+        }
+    }
+
+    @Override
+    public void split() {
+        Meters bound = meters;
+        if (bound != null) {
+            bound.splits.increment();
+        }
+    }
+
+    @Override
+    public void traversed(final long nanos) {
+        Meters bound = meters;
+        if (bound != null) {
+            bound.traversalTimer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * The meters registered for one registry.
+     */
+    private static final class Meters {
+
+        private final Timer queueTimer;
+        private final Timer fetchTimer;
+        private final Counter fetchFailures;
+        private final DistributionSummary rowsPerPage;
+        private final Counter rows;
+        private final Counter splits;
+        private final Timer traversalTimer;
+
+        Meters(final MeterRegistry registry, final Iterable<Tag> tags) {
+            queueTimer = Timer.builder("pagination.fetch.queued")
+                    .description("Time a fetch waited for a FetchLimiter")
+                    .tags(tags)
+                    .register(registry);
+            fetchTimer = Timer.builder("pagination.fetch")
+                    .description("Time taken to fetch a page")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            fetchFailures = Counter.builder("pagination.fetch.failures")
+                    .tags(tags)
+                    .register(registry);
+            rowsPerPage = DistributionSummary.builder("pagination.page.rows")
+                    .baseUnit("rows")
+                    .tags(tags)
+                    .register(registry);
+            rows = Counter.builder("pagination.rows")
+                    .baseUnit("rows")
+                    .tags(tags)
+                    .register(registry);
+            splits = Counter.builder("pagination.splits")
+                    .tags(tags)
+                    .register(registry);
+            traversalTimer = Timer.builder("pagination.traversal")
+                    .description("Time spent inside the stream, fetching on the traversing thread and consuming")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
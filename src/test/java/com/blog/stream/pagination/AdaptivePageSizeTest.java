@@ -0,0 +1,66 @@
+package com.blog.stream.pagination;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class AdaptivePageSizeTest {
+
+    private static final long ONE_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final PageSizer sizer = AdaptivePageSize.targetLatency(Duration.ofMillis(100), 10, 1000).newSizer();
+
+    @Test
+    public void nextPageSize_StartsAtMinimum() {
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void record_FastFetches_GrowsAtMostDoubleEachFetch() {
+        sizer.record(10, 10, ONE_MILLI);
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(20);
+
+        sizer.record(20, 20, 2 * ONE_MILLI);
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(40);
+    }
+
+    @Test
+    public void record_FastFetches_NeverExceedsMaximum() {
+        for (int i = 0; i < 20; i++) {
+            int pageSize = sizer.nextPageSize();
+            sizer.record(pageSize, pageSize, 1);
+        }
+
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(1000);
+    }
+
+    @Test
+    public void record_SlowFetches_ShrinksTowardsTargetButNotBelowMinimum() {
+        sizer.record(10, 10, 1_000 * ONE_MILLI);
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(10);
+
+        sizer.record(10, 10, 10_000 * ONE_MILLI);
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void record_ShortPage_UsesRowsReturnedForRate() {
+        sizer.record(10, 10, 5 * ONE_MILLI);
+        sizer.record(20, 2, 20 * ONE_MILLI);
+
+        soft.assertThat(sizer.nextPageSize())
+                .isEqualTo(19);
+    }
+}
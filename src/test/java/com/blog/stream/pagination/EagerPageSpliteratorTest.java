@@ -0,0 +1,94 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class EagerPageSpliteratorTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final ExecutorService executor = FetchExecutors.fixed(4);
+    private final CountDownLatch countReleased = new CountDownLatch(1);
+
+    @After
+    public void tearDown() {
+        countReleased.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    public void tryAdvance_FirstPageEmittedBeforeCountReturns() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(95);
+        EagerPageSpliterator<Long> spliterator =
+                EagerPageSpliterator.create(fetcher, 10, blockedCount(95), executor, 2);
+
+        List<Long> first = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            spliterator.tryAdvance(first::add);
+        }
+
+        soft.assertThat(first)
+                .containsExactlyElementsOf(fetcher.expected().subList(0, 10));
+        soft.assertThat(countReleased.getCount())
+                .isEqualTo(1);
+
+        countReleased.countDown();
+        spliterator.forEachRemaining(first::add);
+
+        soft.assertThat(first)
+                .containsExactlyElementsOf(fetcher.expected());
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void eagerPagedStream_EndsWithinFirstPages_NeverWaitsForCount() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(15);
+
+        List<Long> streamed;
+        try (Stream<Long> stream = PaginationUtils.eagerPagedStream(fetcher, 10, blockedCount(15), executor, 3)) {
+            streamed = stream.collect(toList());
+        }
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(fetcher.expected());
+    }
+
+    @Test
+    public void eagerPagedStream_parallel_StreamsWholeResultSetInOrder() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(95);
+
+        List<Long> streamed = PaginationUtils.eagerPagedStream(fetcher, 10, () -> 95, executor, 3)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(fetcher.expected());
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(10);
+    }
+
+    private LongSupplier blockedCount(final long count) {
+        return () -> {
+            try {
+                countReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return count;
+        };
+    }
+}
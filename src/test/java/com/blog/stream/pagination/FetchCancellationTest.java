@@ -0,0 +1,112 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class FetchCancellationTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher fetcher = new NumberPageFetcher(95);
+
+    @Test
+    public void close_InterruptsFetchInFlightAndStartsNoFurtherPages() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        PageFetcher<Long> blocking = (pageNumber, pageSize) -> {
+            if (pageNumber == 1) {
+                blocked.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw new IllegalStateException(e);
+                }
+            }
+            return fetcher.fetch(pageNumber, pageSize);
+        };
+
+        Stream<Long> stream = PaginationUtils.pagedStream(blocking, 10, 95);
+        ExecutorService consumer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> consumed = consumer.submit(() -> stream.forEach(element -> { }));
+            blocked.await();
+            stream.close();
+
+            Throwable thrown = catchThrowable(consumed::get);
+
+            soft.assertThat(thrown)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(CancellationException.class);
+            soft.assertThat(interrupted)
+                    .isTrue();
+            soft.assertThat(fetcher.getFetches())
+                    .isEqualTo(1);
+        } finally {
+            consumer.shutdown();
+        }
+    }
+
+    @Test
+    public void cancellable_DeadlinePassed_StartsNoFurtherPages() {
+        FetchCancellation cancellation = FetchCancellation.withDeadline(Duration.ZERO);
+
+        Throwable thrown = catchThrowable(() ->
+                PaginationUtils.pagedStream(PageFetchers.cancellable(fetcher, cancellation), 10, 95)
+                        .collect(toList()));
+
+        soft.assertThat(thrown)
+                .isInstanceOf(CancellationException.class);
+        soft.assertThat(cancellation.isCancelled())
+                .isTrue();
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void cancel_DuringFetch_ClearsOnlyItsOwnInterrupt() {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageFetcher<Long> cancelling = PageFetchers.cancellable((pageNumber, pageSize) -> {
+            cancellation.cancel();
+            return fetcher.fetch(pageNumber, pageSize);
+        }, cancellation);
+
+        cancelling.fetch(0, 10);
+        boolean interruptLeaked = Thread.interrupted();
+
+        soft.assertThat(interruptLeaked)
+                .isFalse();
+    }
+
+    @Test
+    public void cancel_DuringFetch_KeepsInterruptPendingBeforeFetch() {
+        FetchCancellation cancellation = FetchCancellation.create();
+        PageFetcher<Long> cancelling = PageFetchers.cancellable((pageNumber, pageSize) -> {
+            cancellation.cancel();
+            return fetcher.fetch(pageNumber, pageSize);
+        }, cancellation);
+
+        Thread.currentThread().interrupt();
+        cancelling.fetch(0, 10);
+        boolean interruptKept = Thread.interrupted();
+
+        soft.assertThat(interruptKept)
+                .isTrue();
+    }
+}
@@ -0,0 +1,113 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+
+public class FetchLimiterTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher numbers = new NumberPageFetcher(200);
+
+    @Test
+    public void limited_SharedBetweenParallelStreams_CapsConcurrentFetches() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            running.decrementAndGet();
+            return numbers.fetch(pageNumber, pageSize);
+        };
+
+        FetchLimiter limiter = FetchLimiter.maxConcurrent(2);
+        PageFetchStats stats = new PageFetchStats();
+        PageFetcher<Long> limited = PageFetchers.limited(fetcher, limiter, stats);
+
+        List<Long> first = PaginationUtils.pagedStream(limited, 10, 200).parallel().collect(toList());
+        List<Long> second = PaginationUtils.balancedPagedStream(limited, 10, 200).parallel().collect(toList());
+
+        soft.assertThat(first)
+                .containsExactlyElementsOf(numbers.expected());
+        soft.assertThat(second)
+                .containsExactlyElementsOf(numbers.expected());
+        soft.assertThat(maxRunning.get())
+                .isLessThanOrEqualTo(2);
+        soft.assertThat(limiter.getAcquired())
+                .isEqualTo(40);
+        soft.assertThat(limiter.getActiveFetches())
+                .isEqualTo(0);
+        soft.assertThat(stats.getQueueTime(TimeUnit.NANOSECONDS))
+                .isEqualTo(limiter.getTotalWait(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void limited_FetchesPerSecond_SpacesOutFetches() {
+        FetchLimiter limiter = FetchLimiter.maxConcurrent(4, 50);
+        PageFetcher<Long> limited = PageFetchers.limited(numbers, limiter);
+
+        long start = System.nanoTime();
+        List<Long> streamed = PaginationUtils.pagedStream(limited, 20, 200).collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(numbers.expected());
+        soft.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isGreaterThanOrEqualTo(150);
+        soft.assertThat(limiter.getMaxWait(TimeUnit.MILLISECONDS))
+                .isGreaterThan(0);
+    }
+
+    @Test
+    public void limited_FetchFails_ReleasesPermit() {
+        FetchLimiter limiter = FetchLimiter.maxConcurrent(1);
+        PageFetcher<Long> failing = PageFetchers.limited((pageNumber, pageSize) -> {
+            throw new IllegalStateException("down");
+        }, limiter);
+
+        soft.assertThatThrownBy(() -> failing.fetch(0, 10))
+                .isInstanceOf(IllegalStateException.class);
+        soft.assertThat(limiter.getActiveFetches())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void limited_ListenerFails_ReleasesPermit() {
+        FetchLimiter limiter = FetchLimiter.maxConcurrent(1);
+        PageFetcher<Long> limited = PageFetchers.limited(numbers, limiter, new PageFetchListener() {
+            @Override
+            public void fetchQueued(final long pageNumber, final long waitNanos) {
+                throw new IllegalStateException("listener down");
+            }
+        });
+
+        soft.assertThatThrownBy(() -> limited.fetch(0, 10))
+                .isInstanceOf(IllegalStateException.class);
+        soft.assertThat(limiter.getActiveFetches())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void maxConcurrent_NotPositive_Throws() {
+        soft.assertThatThrownBy(() -> FetchLimiter.maxConcurrent(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        soft.assertThatThrownBy(() -> FetchLimiter.maxConcurrent(1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HedgedPageFetcherTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher numbers = new NumberPageFetcher(1000);
+    private final ExecutorService executor = FetchExecutors.fixed(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void fetch_SlowerThanPercentile_ReturnsDuplicateFetch() {
+        AtomicInteger slowPageFetches = new AtomicInteger();
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            if (pageNumber == 50 && slowPageFetches.getAndIncrement() == 0) {
+                sleep(5000);
+            } else {
+                sleep(5);
+            }
+            return numbers.fetch(pageNumber, pageSize);
+        };
+        HedgedPageFetcher<Long> hedged = new HedgedPageFetcher<>(fetcher, executor, 0.9, 10, 5);
+
+        for (int page = 0; page < 10; page++) {
+            hedged.fetch(page, 10);
+        }
+
+        long start = System.nanoTime();
+        soft.assertThat(hedged.fetch(50, 10).getContent())
+                .containsExactlyElementsOf(numbers.expected().subList(500, 510));
+        soft.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isLessThan(2000);
+        soft.assertThat(slowPageFetches.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void fetch_BeforeMinimumSamples_NeverHedges() {
+        AtomicInteger fetches = new AtomicInteger();
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            fetches.incrementAndGet();
+            sleep(pageNumber == 3 ? 200 : 1);
+            return numbers.fetch(pageNumber, pageSize);
+        };
+        HedgedPageFetcher<Long> hedged = new HedgedPageFetcher<>(fetcher, executor, 0.5, 10, 5);
+
+        for (int page = 0; page < 4; page++) {
+            hedged.fetch(page, 10);
+        }
+
+        soft.assertThat(fetches.get())
+                .isEqualTo(4);
+        soft.assertThat(hedged.getHedgeThresholdNanos())
+                .isEqualTo(-1);
+    }
+
+    @Test
+    public void fetch_BothFetchesFail_ThrowsFetchersException() {
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            throw new IllegalStateException("down");
+        };
+        HedgedPageFetcher<Long> hedged = new HedgedPageFetcher<>(fetcher, executor, 0.5, 10, 5);
+
+        soft.assertThatThrownBy(() -> hedged.fetch(0, 10))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("down");
+    }
+
+    @Test
+    public void create_PercentileOutOfRange_Throws() {
+        soft.assertThatThrownBy(() -> HedgedPageFetcher.create(numbers, executor, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
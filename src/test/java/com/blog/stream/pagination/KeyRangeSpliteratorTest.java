@@ -0,0 +1,108 @@
+package com.blog.stream.pagination;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toList;
+
+public class KeyRangeSpliteratorTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    @Test
+    public void trySplit_FullProbe_ChildTakesProbedPageAndFirstHalf() {
+        KeyFetcher fetcher = new KeyFetcher(LongStream.range(0, 100).toArray());
+        KeyRangeSpliterator<Long> spliterator = new KeyRangeSpliterator<>(0, 99, 10, fetcher, Long::longValue);
+
+        KeyRangeSpliterator<Long> child = (KeyRangeSpliterator<Long>) spliterator.trySplit();
+
+        soft.assertThat(child.getNextKey())
+                .isEqualTo(10);
+        soft.assertThat(child.getEndKey())
+                .isEqualTo(54);
+        soft.assertThat(spliterator.getNextKey())
+                .isEqualTo(55);
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(1);
+        soft.assertThat(flatten(child))
+                .containsExactlyElementsOf(fetcher.expected().subList(0, 55));
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(6);
+    }
+
+    @Test
+    public void trySplit_ShortProbe_DoesNotSplit() {
+        KeyFetcher fetcher = new KeyFetcher(new long[] {3, 500, 70000});
+        KeyRangeSpliterator<Long> spliterator = new KeyRangeSpliterator<>(3, 70000, 10, fetcher, Long::longValue);
+
+        soft.assertThat(spliterator.trySplit())
+                .isNull();
+        soft.assertThat(spliterator.estimateSize())
+                .isEqualTo(3);
+        soft.assertThat(flatten(spliterator))
+                .containsExactlyElementsOf(fetcher.expected());
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void keyRangeStream_parallel_SkewedKeys_StreamsWholeResultSetInKeyOrder() {
+        long[] denseKeys = LongStream.range(0, 10_000).toArray();
+        long[] sparseKeys = LongStream.range(1, 21).map(i -> i * 50_000_000L).toArray();
+        KeyFetcher fetcher = new KeyFetcher(LongStream.concat(
+                Arrays.stream(denseKeys), Arrays.stream(sparseKeys)).toArray());
+
+        List<Long> streamed = PaginationUtils.keyRangeStream(
+                fetcher, 100, () -> 0, () -> 1_000_000_000L, Long::longValue)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(fetcher.expected());
+    }
+
+    private static List<Long> flatten(final KeyRangeSpliterator<Long> spliterator) {
+        List<Long> elements = new ArrayList<>();
+        spliterator.forEachRemaining(elements::add);
+        return elements;
+    }
+
+    /**
+     * In memory result set of the given ascending keys, recording how many pages have been fetched.
+     */
+    private static class KeyFetcher implements KeyRangeFetcher<Long> {
+
+        private final long[] keys;
+        private final AtomicInteger fetches = new AtomicInteger();
+
+        KeyFetcher(final long[] keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public List<Long> fetch(final long fromKey, final long toKey, final int pageSize) {
+            fetches.incrementAndGet();
+            return Arrays.stream(keys)
+                    .filter(key -> key >= fromKey && key <= toKey)
+                    .limit(pageSize)
+                    .boxed()
+                    .collect(toList());
+        }
+
+        List<Long> expected() {
+            return Arrays.stream(keys).boxed().collect(toList());
+        }
+
+        int getFetches() {
+            return fetches.get();
+        }
+    }
+}
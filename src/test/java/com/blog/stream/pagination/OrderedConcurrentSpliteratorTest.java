@@ -0,0 +1,116 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+
+public class OrderedConcurrentSpliteratorTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher numbers = new NumberPageFetcher(995);
+    private final ExecutorService executor = FetchExecutors.fixed(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void orderedConcurrentStream_RandomLatency_StreamsInPageOrderWithConcurrentFetches() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(ThreadLocalRandom.current().nextInt(1, 10));
+            running.decrementAndGet();
+            return numbers.fetch(pageNumber, pageSize);
+        };
+
+        List<Long> streamed = PaginationUtils.orderedConcurrentStream(fetcher, 10, 995, 4, 8, executor)
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(numbers.expected());
+        soft.assertThat(maxRunning.get())
+                .isBetween(2, 4);
+    }
+
+    @Test
+    public void orderedConcurrentStream_SlowConsumer_FetchesNoFurtherAheadThanBuffer() {
+        AtomicLong highestPage = new AtomicLong(-1);
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            highestPage.accumulateAndGet(pageNumber, Math::max);
+            return numbers.fetch(pageNumber, pageSize);
+        };
+
+        OrderedConcurrentSpliterator<Long> spliterator =
+                OrderedConcurrentSpliterator.create(995, 10, 4, 5, fetcher, Runnable::run);
+
+        for (int i = 0; i < 25; i++) {
+            spliterator.tryAdvance(number -> { });
+        }
+
+        soft.assertThat(highestPage.get())
+                .isEqualTo(2 + 5);
+        soft.assertThat(spliterator.getBufferedPages())
+                .isEqualTo(5);
+    }
+
+    @Test
+    public void orderedConcurrentStream_FetchFailsBeforeEarlierPageArrives_ThrowsAfterEarlierPages() {
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            if (pageNumber == 2) {
+                sleep(100);
+            }
+            if (pageNumber == 3) {
+                throw new IllegalStateException("down");
+            }
+            return numbers.fetch(pageNumber, pageSize);
+        };
+        List<Long> consumed = new ArrayList<>();
+
+        soft.assertThatThrownBy(() -> PaginationUtils.orderedConcurrentStream(fetcher, 10, 995, 2, 4, executor)
+                .forEach(consumed::add))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("down");
+        soft.assertThat(consumed)
+                .containsExactlyElementsOf(numbers.expected().subList(0, 30));
+    }
+
+    @Test
+    public void close_StopsFetchingFurtherPages() {
+        OrderedConcurrentSpliterator<Long> spliterator =
+                OrderedConcurrentSpliterator.create(995, 10, 1, 2, numbers, Runnable::run);
+        List<Long> consumed = new ArrayList<>();
+
+        spliterator.tryAdvance(consumed::add);
+        spliterator.close();
+        spliterator.forEachRemaining(consumed::add);
+
+        soft.assertThat(consumed)
+                .containsExactlyElementsOf(numbers.expected().subList(0, 10));
+        soft.assertThat(numbers.getFetches())
+                .isEqualTo(3);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
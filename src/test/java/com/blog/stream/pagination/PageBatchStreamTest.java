@@ -0,0 +1,103 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+public class PageBatchStreamTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher fetcher = new NumberPageFetcher(95);
+
+    @Test
+    public void pagedBatchStream_parallel_StreamsEachPageOnceInOrder() {
+        List<List<Long>> batches = PaginationUtils.pagedBatchStream(fetcher, 10, 95)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(sizes(batches))
+                .containsExactly(10, 10, 10, 10, 10, 10, 10, 10, 10, 5);
+        soft.assertThat(flatten(batches))
+                .containsExactlyElementsOf(fetcher.expected());
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void pagedBatchStream_BatchSize_RechunksAcrossPages() {
+        List<List<Long>> batches = PaginationUtils.pagedBatchStream(fetcher, 10, 95, 25)
+                .collect(toList());
+
+        soft.assertThat(sizes(batches))
+                .containsExactly(25, 25, 25, 20);
+        soft.assertThat(flatten(batches))
+                .containsExactlyElementsOf(fetcher.expected());
+    }
+
+    @Test
+    public void pagedBatchStream_parallel_BatchSize_SplitsKeepBatchesFull() {
+        List<List<Long>> batches = PaginationUtils.pagedBatchStream(fetcher, 10, 95, 25)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(sizes(batches))
+                .containsExactly(25, 25, 25, 20);
+        soft.assertThat(flatten(batches))
+                .containsExactlyElementsOf(fetcher.expected());
+    }
+
+    @Test
+    public void pagedBatchStream_parallel_BatchSizeNotMultipleOfPages_SplitsOnBatchBoundaries() {
+        NumberPageFetcher numbers = new NumberPageFetcher(200);
+
+        List<List<Long>> batches = PaginationUtils.pagedBatchStream(numbers, 10, 200, 30)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(sizes(batches))
+                .containsExactly(30, 30, 30, 30, 30, 30, 20);
+        soft.assertThat(flatten(batches))
+                .containsExactlyElementsOf(numbers.expected());
+    }
+
+    @Test
+    public void pageableBatchStream_StreamsEachPageFromPageable() {
+        List<List<Long>> batches = PaginationUtils.pageableBatchStream(
+                pageable -> fetcher.fetch(pageable.getPageNumber(), pageable.getPageSize()), PageRequest.of(2, 10))
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(sizes(batches))
+                .containsExactly(10, 10, 10, 10, 10, 10, 10, 5);
+        soft.assertThat(flatten(batches))
+                .containsExactlyElementsOf(fetcher.expected().subList(20, 95));
+    }
+
+    @Test
+    public void pageableBatchStream_BatchSize_FetchesFirstPageOnce() {
+        List<List<Long>> batches = PaginationUtils.pageableBatchStream(
+                pageable -> fetcher.fetch(pageable.getPageNumber(), pageable.getPageSize()), PageRequest.of(0, 10), 30)
+                .collect(toList());
+
+        soft.assertThat(sizes(batches))
+                .containsExactly(30, 30, 30, 5);
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(10);
+    }
+
+    private static List<Integer> sizes(final List<List<Long>> batches) {
+        return batches.stream().map(List::size).collect(toList());
+    }
+
+    private static List<Long> flatten(final List<List<Long>> batches) {
+        return batches.stream().flatMap(List::stream).collect(toList());
+    }
+}
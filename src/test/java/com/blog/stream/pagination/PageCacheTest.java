@@ -0,0 +1,125 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+public class PageCacheTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    @Test
+    public void cached_SecondPass_ServedFromCache() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(100);
+        PageFetcher<Long> cached = PageFetchers.cached(fetcher, PageCache.maximumPages(100, Duration.ofMinutes(1)));
+
+        PaginationUtils.pagedStream(cached, 10, 100).collect(toList());
+        soft.assertThat(PaginationUtils.pagedStream(cached, 10, 100).collect(toList()))
+                .containsExactlyElementsOf(fetcher.expected());
+
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void cached_DifferentFetchers_DoNotShareEntries() {
+        PageCache cache = PageCache.maximumPages(100, Duration.ofMinutes(1));
+        NumberPageFetcher first = new NumberPageFetcher(100);
+        NumberPageFetcher second = new NumberPageFetcher(50);
+
+        PageFetchers.cached(first, cache).fetch(0, 10);
+        Page<Long> page = PageFetchers.cached(second, cache).fetch(0, 10);
+
+        soft.assertThat(page.getTotalElements())
+                .isEqualTo(50);
+        soft.assertThat(second.getFetches())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void cached_ExceedsMaximumRows_EvictsPages() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(100);
+        PageFetcher<Long> cached = PageFetchers.cached(fetcher, PageCache.maximumRows(30, Duration.ofMinutes(1)));
+
+        PaginationUtils.pagedStream(cached, 10, 100).collect(toList());
+        PaginationUtils.pagedStream(cached, 10, 100).collect(toList());
+
+        soft.assertThat(fetcher.getFetches())
+                .isGreaterThan(10);
+    }
+
+    @Test
+    public void cached_ConcurrentRequestsForSamePage_FetchedOnce() throws Exception {
+        CountDownLatch bothCallersEntered = new CountDownLatch(2);
+        Set<Thread> callers = ConcurrentHashMap.newKeySet();
+        AtomicInteger fetches = new AtomicInteger();
+        NumberPageFetcher numbers = new NumberPageFetcher(100);
+
+        PageFetcher<Long> slowFetcher = (pageNumber, pageSize) -> {
+            fetches.incrementAndGet();
+            await(bothCallersEntered);
+            awaitOtherCallersBlocked(callers);
+            return numbers.fetch(pageNumber, pageSize);
+        };
+        PageFetcher<Long> cached = PageFetchers.cached(slowFetcher, PageCache.maximumPages(10, Duration.ofMinutes(1)));
+        Supplier<Page<Long>> caller = () -> {
+            callers.add(Thread.currentThread());
+            bothCallersEntered.countDown();
+            return cached.fetch(0, 10);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Page<Long>> first = CompletableFuture.supplyAsync(caller, executor);
+            CompletableFuture<Page<Long>> second = CompletableFuture.supplyAsync(caller, executor);
+
+            soft.assertThat(second.get().getContent())
+                    .isEqualTo(first.get().getContent());
+            soft.assertThat(fetches.get())
+                    .isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hold the load open until every other caller is parked waiting on it, or a second has passed should the
+     * other caller not wait at all.
+     */
+    private static void awaitOtherCallersBlocked(final Set<Thread> callers) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (System.nanoTime() - deadline < 0) {
+            boolean othersBlocked = callers.stream()
+                    .filter(thread -> thread != Thread.currentThread())
+                    .allMatch(thread -> thread.getState() == Thread.State.WAITING);
+            if (othersBlocked) {
+                return;
+            }
+            Thread.yield();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+public class PageCheckpointTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NumberPageFetcher fetcher = new NumberPageFetcher(95);
+
+    @Test
+    public void resumablePagedStream_RestartedAfterFailure_OnlyStreamsIncompletePages() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("export.checkpoint");
+        List<Long> firstRun = new ArrayList<>();
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            soft.assertThatThrownBy(() -> PaginationUtils.resumablePagedStream(fetcher, 10, 95, checkpoint)
+                    .forEach(number -> {
+                        if (number == 35) {
+                            throw new IllegalStateException("crash");
+                        }
+                        firstRun.add(number);
+                    }))
+                    .hasMessage("crash");
+        }
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            soft.assertThat(checkpoint.getCompletedPages())
+                    .isEqualTo(3);
+
+            List<Long> secondRun = PaginationUtils.resumablePagedStream(fetcher, 10, 95, checkpoint)
+                    .collect(toList());
+
+            soft.assertThat(secondRun)
+                    .containsExactlyElementsOf(fetcher.expected().subList(30, 95));
+            soft.assertThat(checkpoint.getCompletedPages())
+                    .isEqualTo(10);
+        }
+
+        soft.assertThat(firstRun)
+                .containsExactlyElementsOf(fetcher.expected().subList(0, 35));
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(4 + 7);
+    }
+
+    @Test
+    public void resumablePagedStream_parallel_RecordsEveryPage() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("parallel.checkpoint");
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            List<Long> streamed = PaginationUtils.resumablePagedStream(fetcher, 10, 95, checkpoint)
+                    .parallel()
+                    .collect(toList());
+
+            soft.assertThat(streamed)
+                    .containsExactlyElementsOf(fetcher.expected());
+        }
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            soft.assertThat(checkpoint.getCompletedPages())
+                    .isEqualTo(10);
+            soft.assertThat(PaginationUtils.resumablePagedStream(fetcher, 10, 95, checkpoint).count())
+                    .isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void open_TornTrailingRecord_IgnoresIt() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("torn.checkpoint");
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            checkpoint.markCompleted(0);
+            checkpoint.markCompleted(4);
+        }
+        Files.write(file, new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            soft.assertThat(checkpoint.getCompletedPages())
+                    .isEqualTo(2);
+            soft.assertThat(checkpoint.isCompleted(4))
+                    .isTrue();
+            checkpoint.markCompleted(7);
+        }
+
+        try (PageCheckpoint checkpoint = PageCheckpoint.open(file, 10)) {
+            soft.assertThat(checkpoint.isCompleted(7))
+                    .isTrue();
+            soft.assertThat(checkpoint.getCompletedPages())
+                    .isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void open_DifferentPageSize_Throws() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("size.checkpoint");
+        PageCheckpoint.open(file, 10).close();
+
+        soft.assertThatThrownBy(() -> PageCheckpoint.open(file, 20))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static java.util.stream.Collectors.toList;
+
+public class PageExporterTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final NumberPageFetcher fetcher = new NumberPageFetcher(995);
+
+    private final ExecutorService executor = FetchExecutors.fixed(4);
+
+    private final PageSerializer<Long> lines = (page, output) -> {
+        StringBuilder builder = new StringBuilder();
+        page.forEach(number -> builder.append(number).append('\n'));
+        output.write(builder.toString().getBytes(StandardCharsets.UTF_8));
+    };
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void export_parallel_WritesEveryPageWhole() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("numbers.txt");
+
+        long pagesWritten;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            PageExporter<Long> exporter = PageExporter.create(channel, lines, 2);
+            exporter.export(fetcher, 10, 995, executor, 4);
+            exporter.close();
+            pagesWritten = exporter.getPagesWritten();
+
+            soft.assertThat(exporter.getBytesWritten())
+                    .isEqualTo(Files.size(file));
+        }
+
+        List<Long> exported = Files.lines(file)
+                .map(Long::valueOf)
+                .collect(toList());
+
+        soft.assertThat(exported)
+                .containsExactlyInAnyOrderElementsOf(fetcher.expected());
+        soft.assertThat(exported.indexOf(11L) - exported.indexOf(10L))
+                .isEqualTo(1);
+        soft.assertThat(pagesWritten)
+                .isEqualTo(100);
+    }
+
+    @Test
+    public void export_FetchFails_StopsExportingAndThrows() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("partial.txt");
+        SliceFetcher<Long> failing = (pageNumber, pageSize) -> {
+            if (pageNumber == 3) {
+                throw new IllegalStateException("down");
+            }
+            return fetcher.fetch(pageNumber, pageSize);
+        };
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            PageExporter<Long> exporter = PageExporter.create(channel, lines, 2);
+
+            soft.assertThatThrownBy(() -> exporter.export(failing, 10, 995, executor, 4))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("down");
+            exporter.close();
+            soft.assertThat(exporter.getPagesWritten())
+                    .isLessThan(99);
+        }
+    }
+
+    @Test
+    public void write_SerializerFails_ThrowsAndKeepsBuffer() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("failing.txt");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            PageExporter<Long> exporter = PageExporter.create(channel, (page, output) -> {
+                throw new IOException("unserializable");
+            }, 1);
+
+            soft.assertThatThrownBy(() -> exporter.write(fetcher.expected()))
+                    .isInstanceOf(UncheckedIOException.class);
+            soft.assertThatThrownBy(() -> exporter.write(fetcher.expected()))
+                    .isInstanceOf(UncheckedIOException.class);
+            exporter.close();
+        }
+    }
+
+    @Test
+    public void close_AfterWriterFailure_Throws() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("readonly.txt");
+        Files.createFile(file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            PageExporter<Long> exporter = PageExporter.create(channel, lines, 1);
+            exporter.write(fetcher.expected());
+
+            soft.assertThatThrownBy(exporter::close)
+                    .isInstanceOf(IOException.class);
+        }
+    }
+}
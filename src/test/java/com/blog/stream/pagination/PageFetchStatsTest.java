@@ -0,0 +1,77 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+public class PageFetchStatsTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher fetcher = new NumberPageFetcher(95);
+
+    @Test
+    public void pagedStream_parallel_RecordsEveryFetchAndSplit() {
+        PageFetchStats stats = new PageFetchStats();
+
+        List<Long> streamed = PaginationUtils.pagedStream(fetcher, 10, 95, stats)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(fetcher.expected());
+        soft.assertThat(stats.getPagesFetched())
+                .isEqualTo(10);
+        soft.assertThat(stats.getRowsFetched())
+                .isEqualTo(95);
+        soft.assertThat(stats.getAverageRowsPerPage())
+                .isEqualTo(9.5);
+        soft.assertThat(stats.getSplits())
+                .isEqualTo(9);
+        soft.assertThat(stats.getPagesInFlight())
+                .isEqualTo(0);
+        soft.assertThat(stats.getMaxPagesInFlight())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void fetchFailed_CountedAndNoLongerInFlight() {
+        PageFetchStats stats = new PageFetchStats();
+        PageFetcher<Long> failing = PageFetchers.metered((pageNumber, pageSize) -> {
+            throw new IllegalStateException("down");
+        }, stats);
+
+        soft.assertThatThrownBy(() -> failing.fetch(0, 10))
+                .isInstanceOf(IllegalStateException.class);
+        soft.assertThat(stats.getFailures())
+                .isEqualTo(1);
+        soft.assertThat(stats.getPagesInFlight())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void getFetchLatencyPercentile_ReturnsUpperBoundOfBucket() {
+        PageFetchStats stats = new PageFetchStats();
+
+        for (int i = 0; i < 99; i++) {
+            stats.fetchStarted(i);
+            stats.fetchCompleted(i, 10, 1_000);
+        }
+        stats.fetchStarted(99);
+        stats.fetchCompleted(99, 10, 1_000_000);
+
+        soft.assertThat(stats.getFetchLatencyPercentile(0.5, TimeUnit.NANOSECONDS))
+                .isEqualTo(1023);
+        soft.assertThat(stats.getFetchLatencyPercentile(1.0, TimeUnit.NANOSECONDS))
+                .isEqualTo(1_048_575);
+        soft.assertThat(new PageFetchStats().getFetchLatencyPercentile(0.99, TimeUnit.NANOSECONDS))
+                .isEqualTo(0);
+    }
+}
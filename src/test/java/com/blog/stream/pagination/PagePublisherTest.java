@@ -0,0 +1,122 @@
+package com.blog.stream.pagination;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class PagePublisherTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    public void subscribe_RequestInChunks_EmitsAllElementsInOrderThenCompletes() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        PagePublisher.create(10, 2, numbers(95), Runnable::run).subscribe(subscriber);
+
+        for (int i = 0; i < 20; i++) {
+            subscriber.subscription.request(7);
+        }
+
+        soft.assertThat(subscriber.received)
+                .containsExactlyElementsOf(IntStream.range(0, 95).boxed().collect(Collectors.toList()));
+        soft.assertThat(subscriber.completed)
+                .isTrue();
+        soft.assertThat(fetches.get())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void request_OnlyFetchesPagesCoveringDemand() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        PagePublisher.create(10, 4, numbers(95), Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(3);
+        soft.assertThat(fetches.get())
+                .isEqualTo(1);
+
+        subscriber.subscription.request(15);
+        soft.assertThat(subscriber.received)
+                .hasSize(18);
+        soft.assertThat(fetches.get())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void cancel_StopsFetchingFurtherPages() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        PagePublisher.create(10, 2, numbers(95), Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(50);
+
+        soft.assertThat(subscriber.received)
+                .hasSize(5);
+        soft.assertThat(fetches.get())
+                .isEqualTo(1);
+        soft.assertThat(subscriber.completed)
+                .isFalse();
+    }
+
+    @Test
+    public void request_NonPositive_SignalsError() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        PagePublisher.create(10, 2, numbers(95), Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        soft.assertThat(subscriber.error)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PageFetcher<Integer> numbers(final int count) {
+        return (pageNumber, pageSize) -> {
+            fetches.incrementAndGet();
+            int from = (int) Math.min(pageNumber * pageSize, count);
+            int to = Math.min(from + pageSize, count);
+            List<Integer> content = IntStream.range(from, to).boxed().collect(Collectors.toList());
+            return new PageImpl<>(content, PageRequest.of((int) pageNumber, pageSize), count);
+        };
+    }
+
+    private static class RecordingSubscriber implements Subscriber<Integer> {
+
+        private final List<Integer> received = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final Integer element) {
+            received.add(element);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.blog.stream.pagination;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Spliterator;
+
+public class PageRangeSpliteratorTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    @Test
+    public void trySplit_ReturnsChildWithFirstHalfOfPagesAndKeepsSecondHalf() {
+        PageRangeSpliterator<String> spliterator = new PageRangeSpliterator<>(2, 12, 115, 10, null);
+
+        Spliterator<String> child = spliterator.trySplit();
+
+        soft.assertThat(((PageRangeSpliterator<String>) child).getStartPage())
+                .isEqualTo(2);
+        soft.assertThat(((PageRangeSpliterator<String>) child).getEndPage())
+                .isEqualTo(7);
+
+        soft.assertThat(spliterator.getStartPage())
+                .isEqualTo(7);
+        soft.assertThat(spliterator.getEndPage())
+                .isEqualTo(12);
+    }
+
+    @Test
+    public void estimateSize_LastRangeOnlyCountsElementsUpToCount() {
+        PageRangeSpliterator<String> spliterator = PageRangeSpliterator.create(115, 10, null);
+
+        Spliterator<String> child = spliterator.trySplit();
+
+        soft.assertThat(child.estimateSize())
+                .isEqualTo(60);
+        soft.assertThat(spliterator.estimateSize())
+                .isEqualTo(55);
+    }
+
+    @Test
+    public void trySplit_SinglePage_ReturnsNull() {
+        PageRangeSpliterator<String> spliterator = new PageRangeSpliterator<>(3, 4, 100, 10, null);
+
+        soft.assertThat(spliterator.trySplit())
+                .isNull();
+    }
+}
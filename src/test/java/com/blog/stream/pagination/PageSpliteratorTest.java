@@ -1,10 +1,12 @@
 package com.blog.stream.pagination;
 
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
 import org.assertj.core.api.JUnitSoftAssertions;
 import org.junit.Rule;
 import org.junit.Test;
 
 import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -28,4 +30,42 @@ public class PageSpliteratorTest {
 
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void trySplit_BeyondIntegerRange_DoesNotOverflow() {
+        PageSpliterator<String> spliterator = new PageSpliterator<>(500_000_000L, 3_000_000_000L, 5, null);
+
+        Spliterator<String> child = spliterator.trySplit();
+
+        soft.assertThat(((PageSpliterator.ChildPageSpliterator<String>) child).getPageNumber())
+                .isEqualTo(500_000_000L);
+
+        soft.assertThat(spliterator.getPageNumber())
+                .isEqualTo(500_000_001L);
+
+        soft.assertThat(spliterator.estimateSize())
+                .isEqualTo(3_000_000_000L);
+    }
+
+    @Test
+    public void findFirst_OnlyFetchesFirstPage() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(100);
+
+        soft.assertThat(PaginationUtils.pagedStream(fetcher, 10, 100).findFirst())
+                .contains(0L);
+
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void limit_StopsFetchingOnceSatisfied() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(100);
+
+        soft.assertThat(PaginationUtils.pagedStream(fetcher, 10, 100).limit(15).collect(Collectors.toList()))
+                .hasSize(15);
+
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(2);
+    }
+}
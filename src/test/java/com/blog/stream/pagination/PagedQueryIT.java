@@ -0,0 +1,178 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.IntegrationTestApplication;
+import com.blog.stream.pagination.fixture.RandomUsers;
+import com.blog.stream.pagination.fixture.User;
+import com.blog.stream.pagination.fixture.UserRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(classes = IntegrationTestApplication.class)
+public class PagedQueryIT {
+
+    private static final LocalDate CUT_OFF = LocalDate.of(1000, 1, 1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Before
+    public void setUp() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void stream_parallel_Specification_OnlyReturnsMatchingRows() {
+        List<User> testUsers = createTestUsers(100);
+
+        List<Long> streamedUserIds = PagedQuery.from(entityManager, User.class)
+                .where(bornAfter(CUT_OFF))
+                .stream(7)
+                .parallel()
+                .map(User::getId)
+                .collect(toList());
+
+        assertThat(streamedUserIds)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .filter(user -> user.getDateOfBirth().isAfter(CUT_OFF))
+                                .map(User::getId)
+                                .sorted()
+                                .collect(toList()));
+    }
+
+    @Test
+    public void stream_InterfaceProjection_SelectsProjectedAttributes() {
+        List<User> testUsers = createTestUsers(100);
+
+        List<String> streamedNames = PagedQuery.from(entityManager, User.class)
+                .where(bornAfter(CUT_OFF))
+                .select(UserName.class)
+                .stream(7)
+                .parallel()
+                .map(UserName::getFirstName)
+                .collect(toList());
+
+        assertThat(streamedNames)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .filter(user -> user.getDateOfBirth().isAfter(CUT_OFF))
+                                .sorted(Comparator.comparingLong(User::getId))
+                                .map(User::getFirstName)
+                                .collect(toList()));
+    }
+
+    @Test
+    public void stream_DtoProjection_OrderBy_ConstructsDtoInOrder() {
+        List<User> testUsers = createTestUsers(100);
+
+        List<UserBirthday> streamedBirthdays = PagedQuery.from(entityManager, User.class)
+                .select(UserBirthday.class, "id", "dateOfBirth")
+                .orderBy(Sort.by("dateOfBirth", "id"))
+                .stream(7)
+                .collect(toList());
+
+        assertThat(streamedBirthdays)
+                .extracting(UserBirthday::getId)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .sorted(Comparator.comparing(User::getDateOfBirth).thenComparingLong(User::getId))
+                                .map(User::getId)
+                                .collect(toList()));
+    }
+
+    @Test
+    public void count_Specification_CountsMatchingRows() {
+        List<User> testUsers = createTestUsers(100);
+
+        long count = PagedQuery.from(entityManager, User.class)
+                .where(bornAfter(CUT_OFF))
+                .count();
+
+        assertThat(count)
+                .isEqualTo(testUsers.stream()
+                        .filter(user -> user.getDateOfBirth().isAfter(CUT_OFF))
+                        .count());
+    }
+
+    @Test
+    public void stream_parallel_RunsCountQueryOnce() {
+        List<User> testUsers = createTestUsers(100);
+        AtomicInteger countQueries = new AtomicInteger();
+        Specification<User> countingCountQueries = (user, query, builder) -> {
+            if (Long.class.equals(query.getResultType())) {
+                countQueries.incrementAndGet();
+            }
+            return builder.conjunction();
+        };
+
+        List<User> streamedUsers = PagedQuery.from(entityManager, User.class)
+                .where(countingCountQueries)
+                .stream(7)
+                .parallel()
+                .collect(toList());
+
+        assertThat(streamedUsers)
+                .hasSameSizeAs(testUsers);
+        assertThat(countQueries.get())
+                .isEqualTo(1);
+    }
+
+    private static Specification<User> bornAfter(final LocalDate date) {
+        return (user, query, builder) -> builder.greaterThan(user.get("dateOfBirth"), date);
+    }
+
+    private List<User> createTestUsers(final int count) {
+        List<User> users = IntStream.range(0, count)
+                .boxed()
+                .map(x -> RandomUsers.createTestUser())
+                .collect(toList());
+
+        return userRepository.saveAll(users);
+    }
+
+    public interface UserName {
+
+        String getFirstName();
+
+        String getLastName();
+    }
+
+    public static class UserBirthday {
+
+        private final long id;
+        private final LocalDate dateOfBirth;
+
+        public UserBirthday(final long id, final LocalDate dateOfBirth) {
+            this.id = id;
+            this.dateOfBirth = dateOfBirth;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public LocalDate getDateOfBirth() {
+            return dateOfBirth;
+        }
+    }
+}
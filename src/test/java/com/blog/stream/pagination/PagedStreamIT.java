@@ -13,8 +13,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
@@ -83,6 +87,37 @@ public class PagedStreamIT {
 
     }
 
+    @Test
+    public void pagedStream_parallel_WithFetchExecutor_FetchesOnExecutorThreads() {
+        List<User> testUsers = createTestUsers(100);
+
+        Set<String> fetchThreads = ConcurrentHashMap.newKeySet();
+        PageFetcher<User> recordingFetcher = (pageNumber, pageSize) -> {
+            fetchThreads.add(Thread.currentThread().getName());
+            return userRepository.pageFetcher().fetch(pageNumber, pageSize);
+        };
+
+        ExecutorService fetchExecutor = FetchExecutors.fixed(4);
+        try {
+            Stream<User> userStream = PaginationUtils.pagedStream(recordingFetcher, 7, 100, fetchExecutor);
+
+            List<Long> streamedUserIds = userStream.parallel()
+                    .map(User::getId)
+                    .collect(toList());
+
+            assertThat(streamedUserIds)
+                    .containsExactlyInAnyOrderElementsOf(
+                            testUsers.stream()
+                                    .map(User::getId)
+                                    .collect(toList()));
+
+            assertThat(fetchThreads)
+                    .allMatch(name -> name.startsWith("page-fetch-"));
+        } finally {
+            fetchExecutor.shutdown();
+        }
+    }
+
     @SuppressWarnings("ResultOfMethodCallIgnored")
     @Test
     public void pagedStream_CountSupplier_NotCalledUntilTerminalMethod() {
@@ -106,6 +141,29 @@ public class PagedStreamIT {
     }
 
 
+    @Test
+    public void balancedPagedStream_parallel_IteratesOverWholeResultSet() {
+        List<User> testUsers = createTestUsers(100);
+
+        Stream<User> userStream = PaginationUtils.balancedPagedStream(userRepository.pageFetcher(), 7, 100);
+
+        Set<Thread> threads = Sets.newHashSet();
+        List<Long> streamedUserIds = userStream.parallel()
+                .peek(user -> threads.add(Thread.currentThread()))
+                .map(User::getId)
+                .collect(toList());
+
+        System.out.println("Concurrency: " + threads.size());
+
+        assertThat(streamedUserIds)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .map(User::getId)
+                                .collect(toList()));
+
+        assertThat(threads.size()).isGreaterThan(1);
+    }
+
     @Test
     public void prefetchPageStream_parallel_IteratesOverWholeResultSet() {
         List<User> testUsers = createTestUsers(100);
@@ -154,6 +212,127 @@ public class PagedStreamIT {
 
     }
 
+    @Test
+    public void readAheadStream_sequential_IteratesOverWholeResultSetInOrder() {
+        List<User> testUsers = createTestUsers(100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Stream<User> userStream = PaginationUtils.readAheadStream(userRepository.pageFetcher(), 7, 3, executor);
+
+            List<Long> streamedUserIds = userStream
+                    .map(User::getId)
+                    .collect(toList());
+
+            assertThat(streamedUserIds)
+                    .containsExactlyElementsOf(
+                            testUsers.stream()
+                                    .map(User::getId)
+                                    .collect(toList()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void slicedStream_parallel_IteratesOverWholeResultSet() {
+        List<User> testUsers = createTestUsers(100);
+
+        Stream<User> userStream = PaginationUtils.slicedStream(
+                userRepository.sliceFetcher(), 7, userRepository::count);
+
+        Set<Thread> threads = Sets.newHashSet();
+        List<Long> streamedUserIds = userStream.parallel()
+                .peek(user -> threads.add(Thread.currentThread()))
+                .map(User::getId)
+                .collect(toList());
+
+        System.out.println("Concurrency: " + threads.size());
+
+        assertThat(streamedUserIds)
+                .containsExactlyInAnyOrderElementsOf(
+                        testUsers.stream()
+                                .map(User::getId)
+                                .collect(toList()));
+
+        assertThat(threads.size()).isGreaterThan(1);
+    }
+
+    @Test
+    public void slicedStream_WithoutCount_IteratesOverWholeResultSet() {
+        List<User> testUsers = createTestUsers(100);
+
+        Stream<User> userStream = PaginationUtils.slicedStream(userRepository.sliceFetcher(), 7);
+
+        List<Long> streamedUserIds = userStream
+                .map(User::getId)
+                .collect(toList());
+
+        assertThat(streamedUserIds)
+                .containsExactlyInAnyOrderElementsOf(
+                        testUsers.stream()
+                                .map(User::getId)
+                                .collect(toList()));
+    }
+
+    @Test
+    public void keysetStream_sequential_IteratesOverWholeResultSetInKeyOrder() {
+        List<User> testUsers = createTestUsers(100);
+
+        Stream<User> userStream = PaginationUtils.keysetStream(userRepository.keysetPageFetcher(), 7, User::getId);
+
+        List<Long> streamedUserIds = userStream
+                .map(User::getId)
+                .collect(toList());
+
+        assertThat(streamedUserIds)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .map(User::getId)
+                                .sorted()
+                                .collect(toList()));
+    }
+
+    @Test
+    public void keysetStream_AdaptivePageSize_IteratesOverWholeResultSetInKeyOrder() {
+        List<User> testUsers = createTestUsers(100);
+
+        Stream<User> userStream = PaginationUtils.keysetStream(
+                userRepository.keysetPageFetcher(),
+                AdaptivePageSize.targetLatency(Duration.ofMillis(50), 3, 40),
+                User::getId);
+
+        List<Long> streamedUserIds = userStream
+                .map(User::getId)
+                .collect(toList());
+
+        assertThat(streamedUserIds)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .map(User::getId)
+                                .sorted()
+                                .collect(toList()));
+    }
+
+    @Test
+    public void keyRangeStream_parallel_IteratesOverWholeResultSetInKeyOrder() {
+        List<User> testUsers = createTestUsers(100);
+
+        Stream<User> userStream = PaginationUtils.keyRangeStream(
+                userRepository.keyRangeFetcher(), 7, userRepository::minId, userRepository::maxId, User::getId);
+
+        List<Long> streamedUserIds = userStream.parallel()
+                .map(User::getId)
+                .collect(toList());
+
+        assertThat(streamedUserIds)
+                .containsExactlyElementsOf(
+                        testUsers.stream()
+                                .map(User::getId)
+                                .sorted()
+                                .collect(toList()));
+    }
+
     @Test
     public void pageableStream_parallel_IteratesOverWholeResultSet() {
         List<User> testUsers = createTestUsers(100);
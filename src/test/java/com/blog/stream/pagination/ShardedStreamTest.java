@@ -0,0 +1,132 @@
+package com.blog.stream.pagination;
+
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toList;
+
+public class ShardedStreamTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final ExecutorService executor = FetchExecutors.fixed(3);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shardedStream_StreamsEveryShardConcurrently() {
+        List<SliceFetcher<Long>> shards = Arrays.asList(
+                shard(0, 3, 40, 50), shard(1, 3, 40, 50), shard(2, 3, 40, 50));
+
+        long start = System.nanoTime();
+        List<Long> streamed = PaginationUtils.shardedStream(shards, 10, 4, executor)
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyInAnyOrderElementsOf(range(120));
+        soft.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isLessThan(3 * 4 * 50);
+    }
+
+    @Test
+    public void shardedStream_MoreShardsThanBufferPages_KeepsEveryShardFetching() {
+        List<SliceFetcher<Long>> shards = Arrays.asList(
+                shard(0, 3, 100, 50), shard(1, 3, 100, 50), shard(2, 3, 100, 50));
+
+        long start = System.nanoTime();
+        List<Long> streamed = PaginationUtils.shardedStream(shards, 10, 1, executor)
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyInAnyOrderElementsOf(range(300));
+        soft.assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .isLessThan(2 * 10 * 50);
+    }
+
+    @Test
+    public void shardedStream_ShardFails_Throws() {
+        SliceFetcher<Long> failing = (pageNumber, pageSize) -> {
+            throw new IllegalStateException("shard down");
+        };
+
+        soft.assertThatThrownBy(() -> PaginationUtils.shardedStream(
+                Arrays.asList(shard(0, 2, 100, 0), failing), 10, 2, executor).count())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("shard down");
+    }
+
+    @Test
+    public void sortedShardedStream_SortedShards_MergesInComparatorOrder() {
+        List<SliceFetcher<Long>> shards = Arrays.asList(
+                shard(0, 3, 95, 0), shard(1, 3, 95, 0), shard(2, 3, 95, 0), shard(0, 1, 0, 0));
+
+        List<Long> streamed = PaginationUtils.sortedShardedStream(shards, 7, Comparator.naturalOrder(), executor)
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(range(285));
+    }
+
+    @Test
+    public void sortedShardedStream_ReverseComparator_MergesDescending() {
+        List<SliceFetcher<Long>> shards = Arrays.asList(
+                descendingShard(0, 2, 50), descendingShard(1, 2, 50));
+
+        List<Long> streamed = PaginationUtils.sortedShardedStream(shards, 10, Comparator.reverseOrder(), executor)
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .isSortedAccordingTo(Comparator.reverseOrder())
+                .hasSize(100);
+    }
+
+    /**
+     * Shard holding the numbers congruent to offset modulo stride, in ascending order.
+     */
+    private static SliceFetcher<Long> shard(final long offset, final long stride, final int size, final long latency) {
+        List<Long> rows = LongStream.range(0, size).map(i -> offset + i * stride).boxed().collect(toList());
+        return slices(rows, latency);
+    }
+
+    private static SliceFetcher<Long> descendingShard(final long offset, final long stride, final int size) {
+        List<Long> rows = LongStream.range(0, size).map(i -> offset + (size - 1 - i) * stride).boxed().collect(toList());
+        return slices(rows, 0);
+    }
+
+    private static SliceFetcher<Long> slices(final List<Long> rows, final long latency) {
+        return (pageNumber, pageSize) -> {
+            sleep(latency);
+            int from = (int) Math.min(pageNumber * pageSize, rows.size());
+            int to = Math.min(from + pageSize, rows.size());
+            return new SliceImpl<>(
+                    rows.subList(from, to), PageRequest.of((int) pageNumber, pageSize), to < rows.size());
+        };
+    }
+
+    private static List<Long> range(final long count) {
+        return LongStream.range(0, count).boxed().collect(toList());
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.SpeculativePageSpliterator.Discovery;
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+public class SpeculativePageSpliteratorTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    @Test
+    public void trySplit_NothingFetched_SpeculatesWithoutFetching() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(95);
+        SpeculativePageSpliterator<Long> spliterator = unbounded(fetcher);
+
+        SpeculativePageSpliterator<Long> child = (SpeculativePageSpliterator<Long>) spliterator.trySplit();
+
+        soft.assertThat(child.getStartPage())
+                .isEqualTo(0);
+        soft.assertThat(child.getEndPage())
+                .isEqualTo(4);
+        soft.assertThat(spliterator.getStartPage())
+                .isEqualTo(4);
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(0);
+    }
+
+    @Test
+    public void trySplit_SpeculatedPastFullPages_ProbesFirstPageAndDoublesSpeculation() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(95);
+        SpeculativePageSpliterator<Long> spliterator = unbounded(fetcher);
+        spliterator.trySplit();
+
+        SpeculativePageSpliterator<Long> child = (SpeculativePageSpliterator<Long>) spliterator.trySplit();
+
+        soft.assertThat(child.getStartPage())
+                .isEqualTo(4);
+        soft.assertThat(child.getEndPage())
+                .isEqualTo(10);
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(1);
+        soft.assertThat(flatten(child))
+                .containsExactlyElementsOf(fetcher.expected().subList(40, 95));
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(6);
+    }
+
+    @Test
+    public void trySplit_ShortPageSeen_StopsSplittingPastEnd() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(25);
+        SpeculativePageSpliterator<Long> spliterator = unbounded(fetcher);
+        SpeculativePageSpliterator<Long> child = (SpeculativePageSpliterator<Long>) spliterator.trySplit();
+
+        soft.assertThat(flatten(child))
+                .containsExactlyElementsOf(fetcher.expected());
+        soft.assertThat(spliterator.trySplit())
+                .isNull();
+        soft.assertThat(spliterator.estimateSize())
+                .isEqualTo(0);
+        soft.assertThat(flatten(spliterator))
+                .isEmpty();
+        soft.assertThat(fetcher.getFetches())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void slicedStream_parallel_StreamsWholeResultSetInOrder() {
+        NumberPageFetcher fetcher = new NumberPageFetcher(995);
+
+        List<Long> streamed = PaginationUtils.slicedStream(fetcher, 10)
+                .parallel()
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(fetcher.expected());
+    }
+
+    private static SpeculativePageSpliterator<Long> unbounded(final NumberPageFetcher fetcher) {
+        return new SpeculativePageSpliterator<>(0, Long.MAX_VALUE, null, 10, fetcher, new Discovery(4));
+    }
+
+    private static List<Long> flatten(final SpeculativePageSpliterator<Long> spliterator) {
+        List<Long> elements = new ArrayList<>();
+        spliterator.forEachRemaining(elements::add);
+        return elements;
+    }
+}
@@ -0,0 +1,129 @@
+package com.blog.stream.pagination;
+
+import com.blog.stream.pagination.fixture.NumberPageFetcher;
+import org.assertj.core.api.JUnitSoftAssertions;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+public class SpillingPageBufferTest {
+
+    @Rule
+    public JUnitSoftAssertions soft = new JUnitSoftAssertions();
+
+    private final NumberPageFetcher numbers = new NumberPageFetcher(995);
+    private final ExecutorService executor = FetchExecutors.fixed(1);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void take_PagesBeyondBudget_ReadBackInOrderAcrossSegments() {
+        SpillingPageBuffer<Long> buffer = new SpillingPageBuffer<>(25, PageCodec.javaSerialization(), 64);
+
+        for (int page = 0; page < 10; page++) {
+            buffer.put(numbers.fetch(page, 10).getContent());
+        }
+        buffer.finish();
+
+        soft.assertThat(buffer.getHeapRows())
+                .isEqualTo(20);
+        soft.assertThat(buffer.getTotalSpilledPages())
+                .isEqualTo(8);
+
+        List<Long> taken = new ArrayList<>();
+        List<Long> page;
+        while ((page = buffer.take()) != null) {
+            taken.addAll(page);
+        }
+        buffer.close();
+
+        soft.assertThat(taken)
+                .containsExactlyElementsOf(numbers.expected().subList(0, 100));
+    }
+
+    @Test
+    public void put_AfterSpillDrained_BuffersOnHeapAgain() {
+        SpillingPageBuffer<Long> buffer = new SpillingPageBuffer<>(10, PageCodec.javaSerialization(), 64);
+
+        buffer.put(numbers.fetch(0, 10).getContent());
+        buffer.put(numbers.fetch(1, 10).getContent());
+        soft.assertThat(buffer.take())
+                .containsExactlyElementsOf(numbers.expected().subList(0, 10));
+        buffer.put(numbers.fetch(2, 10).getContent());
+        soft.assertThat(buffer.take())
+                .containsExactlyElementsOf(numbers.expected().subList(10, 20));
+        soft.assertThat(buffer.take())
+                .containsExactlyElementsOf(numbers.expected().subList(20, 30));
+
+        buffer.put(numbers.fetch(3, 10).getContent());
+        soft.assertThat(buffer.getHeapRows())
+                .isEqualTo(10);
+        soft.assertThat(buffer.getTotalSpilledPages())
+                .isEqualTo(2);
+        buffer.close();
+    }
+
+    @Test
+    public void spillingStream_StalledConsumer_FetchesEveryPageAndSpills() throws InterruptedException {
+        CountDownLatch lastPageFetched = new CountDownLatch(1);
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            if (pageNumber == 99) {
+                lastPageFetched.countDown();
+            }
+            return numbers.fetch(pageNumber, pageSize);
+        };
+
+        SpillingPageSpliterator<Long> spliterator =
+                SpillingPageSpliterator.create(10, 50, PageCodec.javaSerialization(), fetcher, executor);
+        List<Long> streamed = new ArrayList<>();
+        spliterator.tryAdvance(streamed::add);
+
+        soft.assertThat(lastPageFetched.await(5, TimeUnit.SECONDS))
+                .isTrue();
+        spliterator.forEachRemaining(streamed::add);
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(numbers.expected());
+        soft.assertThat(spliterator.getBuffer().getTotalSpilledPages())
+                .isGreaterThan(90);
+    }
+
+    @Test
+    public void spillingStream_FetchFails_ThrowsAfterEarlierPages() {
+        PageFetcher<Long> fetcher = (pageNumber, pageSize) -> {
+            if (pageNumber == 3) {
+                throw new IllegalStateException("down");
+            }
+            return numbers.fetch(pageNumber, pageSize);
+        };
+        List<Long> consumed = new ArrayList<>();
+
+        soft.assertThatThrownBy(() -> PaginationUtils.spillingStream(
+                fetcher, 10, 10, PageCodec.javaSerialization(), executor).forEach(consumed::add))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("down");
+        soft.assertThat(consumed)
+                .containsExactlyElementsOf(numbers.expected().subList(0, 30));
+    }
+
+    @Test
+    public void spillingStream_Sequential_StreamsWholeResultSet() {
+        List<Long> streamed = PaginationUtils.spillingStream(
+                numbers, 10, 30, PageCodec.javaSerialization(), executor)
+                .collect(toList());
+
+        soft.assertThat(streamed)
+                .containsExactlyElementsOf(numbers.expected());
+    }
+}
@@ -1,6 +1,8 @@
 package com.blog.stream.pagination.demo;
 
 
+import com.blog.stream.pagination.FetchExecutors;
+import com.blog.stream.pagination.PageExporter;
 import com.blog.stream.pagination.PaginationUtils;
 import com.blog.stream.pagination.fixture.IntegrationTestApplication;
 import com.blog.stream.pagination.fixture.User;
@@ -16,9 +18,12 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -103,6 +108,69 @@ public class ExampleExportIT {
 
     }
 
+    @Test
+    public void example_orderedConcurrent_ExportingInOrderWithConcurrentFetches() throws Exception {
+        createTestUsers(100);
+
+        ExecutorService fetchExecutor = FetchExecutors.fixed(4);
+        File file = temporaryFolder.newFile();
+        try (FileOutputStream outputStream = new FileOutputStream(file);
+             Stream<User> userStream = PaginationUtils.orderedConcurrentStream(
+                     userRepository.sliceFetcher(), 7, 100, 4, 8, fetchExecutor)) {
+            Exporter exporter = Exporter.create(outputStream);
+
+            userStream
+                    .map(UserExport::new)
+                    .forEach(exporter::exportUser);
+        } finally {
+            fetchExecutor.shutdown();
+        }
+
+        List<String> export = Files.lines(file.toPath())
+                .collect(toList());
+
+        assertThat(export)
+                .hasSize(100);
+
+        assertThat(export)
+                .startsWith(
+                        "AndroidInstance0,INDEX_0,2001-01-01",
+                        "AndroidInstance1,INDEX_1,2001-01-02",
+                        "AndroidInstance2,INDEX_2,2001-01-03")
+                .endsWith(
+                        "AndroidInstance97,INDEX_97,2001-04-08",
+                        "AndroidInstance98,INDEX_98,2001-04-09",
+                        "AndroidInstance99,INDEX_99,2001-04-10");
+    }
+
+    @Test
+    public void example_pipeline_ExportingPagesThroughSingleWriter() throws Exception {
+        createTestUsers(100);
+
+        File file = temporaryFolder.newFile();
+        ExecutorService fetchExecutor = FetchExecutors.fixed(4);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            PageExporter<User> pageExporter = PageExporter.create(channel, Exporter.pageSerializer(), 4);
+            pageExporter.export(userRepository.sliceFetcher(), 7, 100, fetchExecutor, 4);
+            pageExporter.close();
+        } finally {
+            fetchExecutor.shutdown();
+        }
+
+        List<String> export = Files.lines(file.toPath())
+                .collect(toList());
+
+        assertThat(export)
+                .hasSize(100);
+
+        assertThat(export)
+                .containsOnlyOnce(
+                        "AndroidInstance1,INDEX_1,2001-01-02",
+                        "AndroidInstance87,INDEX_87,2001-03-29",
+                        "AndroidInstance99,INDEX_99,2001-04-10"
+                );
+    }
+
     private void createTestUsers(final int count) {
         List<User> users = IntStream.range(0, count)
                 .boxed()
@@ -1,6 +1,11 @@
 package com.blog.stream.pagination.demo;
 
+import com.blog.stream.pagination.PageExporter;
+import com.blog.stream.pagination.PageSerializer;
+import com.blog.stream.pagination.fixture.User;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -14,33 +19,48 @@ public class Exporter {
 
     private static final Logger LOG = LoggerFactory.getLogger(Exporter.class);
 
-    private final CsvSchema schema;
-    private final CsvMapper csvMapper;
+    private final ObjectWriter writer;
     private final OutputStream outputStream;
 
-    private Exporter(final CsvSchema schema, final CsvMapper csvMapper, final OutputStream outputStream) {
-        this.schema = schema;
-        this.csvMapper = csvMapper;
+    private Exporter(final ObjectWriter writer, final OutputStream outputStream) {
+        this.writer = writer;
         this.outputStream = outputStream;
     }
 
     public static Exporter create(final OutputStream outputStream) {
-        CsvMapper objectMapper = new CsvMapper();
-        objectMapper.registerModules(new JavaTimeModule());
-        objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
-
-        CsvSchema schema = objectMapper.schemaFor(UserExport.class);
-
-        return new Exporter(schema, objectMapper, outputStream);
+        return new Exporter(csvWriter(), outputStream);
     }
 
     public synchronized void exportUser(final UserExport userExport) {
         try {
-            LOG.info("Writing user export {} to file", userExport.getFirstName());
-            csvMapper.writer().with(schema).writeValue(outputStream, userExport);
+            LOG.debug("Writing user export {} to file", userExport.getFirstName());
+            writer.writeValue(outputStream, userExport);
         } catch (IOException e) {
             throw new IllegalStateException("Im being lazy here, just kill it if something goes wrong");
         }
     }
 
+    /**
+     * Serializer writing whole pages of users as CSV rows, for exporting through a {@link PageExporter}.
+     */
+    public static PageSerializer<User> pageSerializer() {
+        ObjectWriter writer = csvWriter();
+        return (page, output) -> {
+            try (SequenceWriter rows = writer.writeValues(output)) {
+                for (User user : page) {
+                    rows.write(new UserExport(user));
+                }
+            }
+        };
+    }
+
+    private static ObjectWriter csvWriter() {
+        CsvMapper objectMapper = new CsvMapper();
+        objectMapper.registerModules(new JavaTimeModule());
+        objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+        CsvSchema schema = objectMapper.schemaFor(UserExport.class);
+
+        return objectMapper.writer().with(schema);
+    }
 }
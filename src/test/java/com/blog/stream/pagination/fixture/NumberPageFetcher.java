@@ -0,0 +1,44 @@
+package com.blog.stream.pagination.fixture;
+
+import com.blog.stream.pagination.PageFetcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * In memory result set of the numbers 0 to count - 1, recording how many pages have been fetched.
+ */
+public class NumberPageFetcher implements PageFetcher<Long> {
+
+    private final long count;
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    public NumberPageFetcher(final long count) {
+        this.count = count;
+    }
+
+    @Override
+    public Page<Long> fetch(final long offset, final int pageSize) {
+        fetches.incrementAndGet();
+
+        long from = Math.min(offset * pageSize, count);
+        long to = Math.min(from + pageSize, count);
+        List<Long> content = LongStream.range(from, to).boxed().collect(toList());
+
+        return new PageImpl<>(content, PageRequest.of(Math.toIntExact(offset), pageSize), count);
+    }
+
+    public List<Long> expected() {
+        return LongStream.range(0, count).boxed().collect(toList());
+    }
+
+    public int getFetches() {
+        return fetches.get();
+    }
+}
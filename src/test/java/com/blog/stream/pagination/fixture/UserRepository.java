@@ -1,22 +1,65 @@
 package com.blog.stream.pagination.fixture;
 
+import com.blog.stream.pagination.KeyRangeFetcher;
+import com.blog.stream.pagination.KeysetPageFetcher;
 import com.blog.stream.pagination.PageFetcher;
+import com.blog.stream.pagination.SliceFetcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Logger LOG = LoggerFactory.getLogger(UserRepository.class);
 
+    List<User> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    List<User> findByIdBetweenOrderByIdAsc(long fromId, long toId, Pageable pageable);
+
+    Slice<User> findSliceBy(Pageable pageable);
+
+    @Query("select coalesce(min(u.id), 0) from User u")
+    long minId();
+
+    @Query("select coalesce(max(u.id), -1) from User u")
+    long maxId();
+
     default PageFetcher<User> pageFetcher() {
         return (pageNumber, pageSize) -> {
             LOG.info("Finding page for pageNumber {} and size {}", pageNumber, pageSize);
-            PageRequest pageable = PageRequest.of(pageNumber, pageSize);
+            PageRequest pageable = PageRequest.of(Math.toIntExact(pageNumber), pageSize);
             return findAll(pageable);
         };
     }
+
+    default SliceFetcher<User> sliceFetcher() {
+        return (pageNumber, pageSize) -> {
+            LOG.info("Finding slice for pageNumber {} and size {}", pageNumber, pageSize);
+            PageRequest pageable = PageRequest.of(Math.toIntExact(pageNumber), pageSize);
+            return findSliceBy(pageable);
+        };
+    }
+
+    default KeysetPageFetcher<User, Long> keysetPageFetcher() {
+        return (lastId, pageSize) -> {
+            LOG.info("Finding page after id {} and size {}", lastId, pageSize);
+            long id = lastId == null ? Long.MIN_VALUE : lastId;
+            return findByIdGreaterThanOrderByIdAsc(id, PageRequest.of(0, pageSize));
+        };
+    }
+
+    default KeyRangeFetcher<User> keyRangeFetcher() {
+        return (fromId, toId, pageSize) -> {
+            LOG.info("Finding page between ids {} and {} and size {}", fromId, toId, pageSize);
+            return findByIdBetweenOrderByIdAsc(fromId, toId, PageRequest.of(0, pageSize));
+        };
+    }
 }